@@ -0,0 +1,159 @@
+
+/**
+ *
+ *  Portable CPU kernels for brain.math.NativeMatrix
+ *  Called through java.lang.foreign downcall handles (see brain.math.NativeKernels),
+ *  all matrices are row-major and all pointers point to native memory
+ *
+ */
+
+// y = W * x, W has rows x cols elements
+void brain_gemv(const float *w, const float *x, float *y, int rows, int cols)
+{
+    for (int j = 0; j < rows; j++)
+    {
+        const float *row = w + (long)j * cols;
+        float sum0 = 0, sum1 = 0, sum2 = 0, sum3 = 0;
+        int i = 0;
+
+        for (; i + 3 < cols; i += 4)
+        {
+            sum0 += row[i] * x[i];
+            sum1 += row[i + 1] * x[i + 1];
+            sum2 += row[i + 2] * x[i + 2];
+            sum3 += row[i + 3] * x[i + 3];
+        }
+
+        for (; i < cols; i++)
+        {
+            sum0 += row[i] * x[i];
+        }
+
+        y[j] = (sum0 + sum1) + (sum2 + sum3);
+    }
+}
+
+// y = W^T * x, W has rows x cols elements
+void brain_gemv_transposed(const float *w, const float *x, float *y, int rows, int cols)
+{
+    for (int i = 0; i < cols; i++)
+    {
+        y[i] = 0;
+    }
+
+    for (int j = 0; j < rows; j++)
+    {
+        const float *row = w + (long)j * cols;
+        const float factor = x[j];
+
+        for (int i = 0; i < cols; i++)
+        {
+            y[i] += factor * row[i];
+        }
+    }
+}
+
+// C = A * B, A has m x k elements, B has k x n elements
+void brain_gemm(const float *a, const float *b, float *c, int m, int k, int n)
+{
+    for (long idx = 0; idx < (long)m * n; idx++)
+    {
+        c[idx] = 0;
+    }
+
+    // i-k-j order so that the innermost loop runs over contiguous rows of B and C
+    for (int i = 0; i < m; i++)
+    {
+        float *c_row = c + (long)i * n;
+
+        for (int p = 0; p < k; p++)
+        {
+            const float factor = a[(long)i * k + p];
+            const float *b_row = b + (long)p * n;
+
+            for (int j = 0; j < n; j++)
+            {
+                c_row[j] += factor * b_row[j];
+            }
+        }
+    }
+}
+
+// out = a^T, a has rows x cols elements
+void brain_transpose(const float *a, float *out, int rows, int cols)
+{
+    for (int j = 0; j < rows; j++)
+    {
+        for (int i = 0; i < cols; i++)
+        {
+            out[(long)i * rows + j] = a[(long)j * cols + i];
+        }
+    }
+}
+
+// out = col * row^T
+void brain_outer(const float *col, const float *row, float *out, int rows, int cols)
+{
+    for (int j = 0; j < rows; j++)
+    {
+        for (int i = 0; i < cols; i++)
+        {
+            out[(long)j * cols + i] = col[j] * row[i];
+        }
+    }
+}
+
+// out += col * row^T
+void brain_outer_add(const float *col, const float *row, float *out, int rows, int cols)
+{
+    for (int j = 0; j < rows; j++)
+    {
+        const float factor = col[j];
+
+        for (int i = 0; i < cols; i++)
+        {
+            out[(long)j * cols + i] += factor * row[i];
+        }
+    }
+}
+
+void brain_add(const float *a, const float *b, float *out, int n)
+{
+    for (int i = 0; i < n; i++)
+    {
+        out[i] = a[i] + b[i];
+    }
+}
+
+void brain_sub(const float *a, const float *b, float *out, int n)
+{
+    for (int i = 0; i < n; i++)
+    {
+        out[i] = a[i] - b[i];
+    }
+}
+
+void brain_mul(const float *a, const float *b, float *out, int n)
+{
+    for (int i = 0; i < n; i++)
+    {
+        out[i] = a[i] * b[i];
+    }
+}
+
+void brain_scale(const float *a, float factor, float *out, int n)
+{
+    for (int i = 0; i < n; i++)
+    {
+        out[i] = a[i] * factor;
+    }
+}
+
+// y += alpha * x
+void brain_axpy(float alpha, const float *x, float *y, int n)
+{
+    for (int i = 0; i < n; i++)
+    {
+        y[i] += alpha * x[i];
+    }
+}
@@ -0,0 +1,148 @@
+package brain;
+
+import brain.domain.Brain;
+import brain.domain.DataParallelTrainer;
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.misc.ImageFitting;
+import brain.misc.LayerDefinition;
+import brain.misc.RingAllReduce;
+import brain.misc.TrainingExample;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One rank of a data-parallel image fitting, see {@link DataParallelTrainer}<br>
+ * Every rank is a separate process (possibly on another machine) that is started with the same arguments apart
+ * from --rank. All ranks load the whole image and train on their own band of pixels, rank 0 writes the result.
+ * <pre>
+ * java brain.DataParallelMain --rank 0 --hosts host0:47300,host1:47300 --image resources/pencil.png
+ *      [--epochs 100] [--layers 32,128,32] [--order 8] [--learning-rate 0.01] [--mini-batch 32]
+ *      [--half-precision true] [--output fitted.png]
+ * </pre>
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class DataParallelMain {
+
+    private static final String USAGE = """
+            Usage: DataParallelMain --rank <r> --hosts <host:port,...> --image <file> [--epochs <n>]
+                   [--layers <n,n,...>] [--order <fourier order>] [--learning-rate <rate>] [--mini-batch <size>]
+                   [--half-precision <true|false>] [--output <file>]""";
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options;
+        SocketAddress[] addresses;
+        int rank;
+
+        try {
+            options = parse(args);
+            addresses = addresses(options.get("hosts"));
+            rank = Integer.parseInt(options.get("rank"));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        var image = ImageIO.read(new File(options.get("image")));
+
+        if (image == null) {
+            throw new IOException(STR."Unsupported image: \{options.get("image")}");
+        }
+
+        int order = Integer.parseInt(options.getOrDefault("order", "8"));
+        int epochs = Integer.parseInt(options.getOrDefault("epochs", "100"));
+        var brain = newBrain(options, order);
+        TrainingExample[] examples = ImageFitting.trainingExamples(image, order, CpuVector::of);
+
+        // Equal shards, so all ranks have the same amount of mini-batches (the last few pixels may be left out)
+        int shardSize = examples.length / addresses.length;
+        var shard = Arrays.copyOfRange(examples, rank * shardSize, (rank + 1) * shardSize);
+
+        try (var ring = new RingAllReduce(rank, addresses, Boolean.parseBoolean(options.getOrDefault("half-precision", "false")))) {
+            var trainer = new DataParallelTrainer(brain, ring);
+            trainer.synchronizeWeights();
+
+            for (int epoch = 1; epoch <= epochs; epoch++) {
+                var statistics = trainer.train(shard);
+
+                if (rank == 0) {
+                    System.out.println(STR."Epoch \{epoch}: loss \{statistics.loss()}, \{Math.round(statistics.examplesPerSecond())} examples/s");
+                }
+            }
+        }
+
+        if (rank == 0) {
+            var output = new File(options.getOrDefault("output", "fitted.png"));
+            ImageIO.write(ImageFitting.render(brain, image.getWidth(), image.getHeight(), order, CpuVector::of), "png", output);
+            System.out.println(STR."PSNR: \{ImageFitting.psnr(brain, examples)} dB");
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        var options = new HashMap<String, String>();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException(STR."Invalid argument: \{args[i]}");
+            }
+
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+
+        for (String option : new String[]{"rank", "hosts", "image"}) {
+            if (!options.containsKey(option)) {
+                throw new IllegalArgumentException(STR."Missing --\{option}");
+            }
+        }
+
+        return options;
+    }
+
+    /**
+     * @param hosts comma separated host:port, one per rank
+     */
+    private static SocketAddress[] addresses(String hosts) {
+        var addresses = new ArrayList<SocketAddress>();
+
+        for (String host : hosts.split(",")) {
+            int colon = host.lastIndexOf(':');
+
+            if (colon < 0) {
+                throw new IllegalArgumentException(STR."Expected host:port\nActual: \{host}");
+            }
+
+            addresses.add(new InetSocketAddress(host.substring(0, colon).trim(), Integer.parseInt(host.substring(colon + 1).trim())));
+        }
+
+        return addresses.toArray(SocketAddress[]::new);
+    }
+
+    private static Brain newBrain(Map<String, String> options, int order) {
+        var layerDefinitions = new ArrayList<LayerDefinition>();
+        layerDefinitions.add(new LayerDefinition(order * 4, ActivationFunction.LINEAR));
+
+        for (String size : options.getOrDefault("layers", "32,128,32").split(",")) {
+            layerDefinitions.add(new LayerDefinition(Integer.parseInt(size.trim()), ActivationFunction.LRELU));
+        }
+
+        layerDefinitions.add(new LayerDefinition(3, ActivationFunction.SIGMOID));
+
+        var brain = new Brain(CpuVector::new, CpuMatrix::new, layerDefinitions.toArray(LayerDefinition[]::new));
+        brain.setLearningRate(Float.parseFloat(options.getOrDefault("learning-rate", "0.01")));
+        brain.setMiniBatchSize(Integer.parseInt(options.getOrDefault("mini-batch", "32")));
+        return brain;
+    }
+
+}
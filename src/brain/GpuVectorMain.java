@@ -4,6 +4,7 @@ import brain.domain.Brain;
 import brain.math.ActivationFunction;
 import brain.math.CpuMatrix;
 import brain.math.GpuVector;
+import brain.misc.ImageFitting;
 import brain.misc.LayerDefinition;
 import brain.misc.TrainingExample;
 import processing.core.PApplet;
@@ -52,21 +53,6 @@ public class GpuVectorMain extends PApplet {
         PApplet.main(GpuVectorMain.class, args);
     }
 
-    private static float[] fourierSeries(int order, float x, float y) {
-        float[] series = new float[order * 4];
-        x *= TWO_PI;
-        y *= TWO_PI;
-
-        for (int i = 0; i < order; i++) {
-            series[i * 4] = sin(x * (i + 1));
-            series[i * 4 + 1] = cos(x * (i + 1));
-            series[i * 4 + 2] = sin(y * (i + 1));
-            series[i * 4 + 3] = cos(y * (i + 1));
-        }
-
-        return series;
-    }
-
     @Override
     public void settings() {
         var url = GpuVectorMain.class.getResource(path);
@@ -83,26 +69,10 @@ public class GpuVectorMain extends PApplet {
 
     // TODO: domain from and to bytes (single file, instead of an entire folder)
     public void setup() {
-        trainingExamples = new TrainingExample[width * height];
         brain.setLearningRate(1e-2f);
         brain.setMiniBatchSize(32);
 
-        for (int j = 0; j < height; j++) {
-            float y = (float) j / height;
-
-            for (int i = 0; i < width; i++) {
-                float x = (float) i / width;
-                int rgb = image.getRGB(i, j);
-                float r = (rgb >> 16 & 0xFF) / 255.0f;
-                float g = (rgb >> 8 & 0xFF) / 255.0f;
-                float b = (rgb & 0xFF) / 255.0f;
-                //trainingExamples[j * w + i] = new TrainingExample(Vector.of(x, y), Vector.of(b));
-                trainingExamples[j * width + i] = new TrainingExample(
-                        GpuVector.of(fourierSeries(FOURIER_ORDER, x, y)),
-                        GpuVector.of(r, g, b)
-                );
-            }
-        }
+        trainingExamples = ImageFitting.trainingExamples(image, FOURIER_ORDER, GpuVector::of);
     }
 
     @Override
@@ -129,7 +99,7 @@ public class GpuVectorMain extends PApplet {
 
             for (int i = 0; i < width; i++) {
                 float x = (float) i / width;
-                var output = brain.predict(GpuVector.of(fourierSeries(FOURIER_ORDER, x, y))).mult(255.0f);
+                var output = brain.predict(GpuVector.of(ImageFitting.fourierSeries(FOURIER_ORDER, x, y))).mult(255.0f);
                 int r = (int) output.get(0);
                 int g = (int) output.get(1);
                 int b = (int) output.get(2);
@@ -0,0 +1,321 @@
+package brain;
+
+import brain.domain.Brain;
+import brain.domain.BrainSnapshot;
+import brain.domain.ImportanceSampler;
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.misc.ImageFitting;
+import brain.misc.LayerDefinition;
+import brain.misc.ProgressiveSchedule;
+import brain.misc.TiledImageFitting;
+import brain.misc.TrainingExample;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Fits an image like {@link CpuMain}, but without a window (no PApplet), e.g. on a training server<br>
+ * Trains as fast as possible; checkpoints and output images are written by a separate thread from snapshots,
+ * so the training never waits for the disk.
+ * <pre>
+ * java brain.HeadlessMain --image resources/pencil.png [--epochs 100] [--target-loss 0.001]
+ *      [--layers 32,128,32] [--order 8] [--learning-rate 0.01] [--mini-batch 32]
+ *      [--output output] [--checkpoint-every 10] [--resume output/epoch-0010.brain]
+ *      [--stages 4:2:10,2:4:10,1:8:20] [--importance 1.0] [--tile 64] [--overlap 4]
+ * </pre>
+ * With --stages the image is trained coarse-to-fine instead of for --epochs (so --epochs, --target-loss and
+ * --importance are rejected), see {@link ProgressiveSchedule}.
+ * With --importance the pixels are sampled proportional to loss^importance, see {@link ImportanceSampler}.
+ * With --tile every tile gets its own brain (--layers) and all tiles train in parallel, see {@link TiledImageFitting}
+ * (so --resume, --stages, --importance and --checkpoint-every are rejected, only the result is written).
+ * With --resume the epochs continue at the number of the checkpoint (if it is named like the written ones) and
+ * existing checkpoints are never overwritten.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class HeadlessMain {
+
+    private static final String USAGE = """
+            Usage: HeadlessMain --image <file> [--epochs <n>] [--target-loss <loss>] [--layers <n,n,...>]
+                   [--order <fourier order>] [--learning-rate <rate>] [--mini-batch <size>]
+                   [--output <directory>] [--checkpoint-every <epochs>] [--resume <checkpoint>]
+                   [--stages <downsampling:order:epochs,...>] [--importance <alpha>]
+                   [--tile <size>] [--overlap <pixels>]""";
+
+    private final Map<String, String> options;
+
+    private static final Pattern CHECKPOINT_NAME = Pattern.compile("epoch-(\\d+)\\.brain");
+
+    /**
+     * Holds at most one waiting snapshot: if the disk can not keep up, the older one is dropped for the newer one
+     */
+    private final ThreadPoolExecutor writer = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            runnable -> new Thread(runnable, "checkpoint-writer"),
+            (runnable, executor) -> {
+                if (!executor.isShutdown()) {
+                    executor.getQueue().poll();
+                    System.err.println("Dropped a snapshot, the checkpoint writer is behind");
+                    executor.execute(runnable);
+                }
+            }
+    );
+
+    private HeadlessMain(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options;
+
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        new HeadlessMain(options).run();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        var options = new HashMap<String, String>();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException(STR."Invalid argument: \{args[i]}");
+            }
+
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+
+        if (!options.containsKey("image")) {
+            throw new IllegalArgumentException("Missing --image");
+        }
+
+        if (options.containsKey("tile")) {
+            for (String option : new String[]{"resume", "stages", "importance", "checkpoint-every"}) {
+                if (options.containsKey(option)) {
+                    throw new IllegalArgumentException(STR."--\{option} can not be combined with --tile");
+                }
+            }
+        }
+
+        if (options.containsKey("stages")) {
+            for (String option : new String[]{"epochs", "target-loss", "importance"}) {
+                if (options.containsKey(option)) {
+                    throw new IllegalArgumentException(STR."--\{option} can not be combined with --stages");
+                }
+            }
+        }
+
+        return options;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private void run() throws IOException, InterruptedException {
+        var image = ImageIO.read(new File(option("image", null)));
+
+        if (image == null) {
+            throw new IOException(STR."Unsupported image: \{option("image", null)}");
+        }
+
+        int order = Integer.parseInt(option("order", "8"));
+        int epochs = Integer.parseInt(option("epochs", "100"));
+        float targetLoss = Float.parseFloat(option("target-loss", "0"));
+        int checkpointEvery = Integer.parseInt(option("checkpoint-every", "10"));
+        var output = Path.of(option("output", "output"));
+        Files.createDirectories(output);
+
+        if (options.containsKey("tile")) {
+            trainTiled(image, order, epochs, targetLoss, output);
+            return;
+        }
+
+        var brain = createBrain(order);
+
+        int firstEpoch = firstEpoch();
+
+        if (options.containsKey("stages")) {
+            trainProgressive(brain, image, order, firstEpoch, checkpointEvery, output);
+            return;
+        }
+
+        TrainingExample[] trainingExamples = ImageFitting.trainingExamples(image, order, CpuVector::of);
+        System.out.println(STR."\{trainingExamples.length} pixels, \{brain.totalSize()} parameters");
+
+        var sampler = options.containsKey("importance")
+                ? new ImportanceSampler(brain, trainingExamples, Float.parseFloat(options.get("importance")), 0.0f, 1e-4f)
+                : null;
+
+        try {
+            for (int epoch = firstEpoch; epoch < firstEpoch + epochs; epoch++) {
+                long start = System.nanoTime();
+                float loss = sampler == null ? brain.train(trainingExamples) : sampler.epoch();
+                long nanos = System.nanoTime() - start;
+                System.out.println(STR."Epoch \{epoch}: loss \{loss}, \{Math.round(trainingExamples.length * 1e9 / nanos)} examples/s");
+                boolean done = loss <= targetLoss || epoch == firstEpoch + epochs - 1;
+
+                if (epoch % checkpointEvery == 0 || done) {
+                    write(BrainSnapshot.of(brain), output, epoch, image.getWidth(), image.getHeight(), order);
+                }
+
+                if (done) {
+                    break;
+                }
+            }
+        } finally {
+            writer.shutdown();
+            writer.awaitTermination(1, TimeUnit.HOURS);
+        }
+    }
+
+    /**
+     * @param checkpointEvery counts the epochs of all stages
+     */
+    private void trainProgressive(Brain brain, BufferedImage image, int order, int firstEpoch, int checkpointEvery, Path output) throws InterruptedException {
+        var schedule = ProgressiveSchedule.parse(options.get("stages"));
+        System.out.println(STR."\{brain.totalSize()} parameters, cost: \{schedule.cost()} full resolution epochs");
+        int[] epoch = {firstEpoch - 1};
+
+        try {
+            schedule.train(brain, image, order, CpuVector::of, (stage, _, loss) -> {
+                epoch[0]++;
+                System.out.println(STR."Epoch \{epoch[0]} (1/\{stage.downsampling()} resolution, order \{stage.activeOrder()}): loss \{loss}");
+
+                if (epoch[0] % checkpointEvery == 0) {
+                    write(BrainSnapshot.of(brain), output, epoch[0], image.getWidth(), image.getHeight(), order);
+                }
+            });
+
+            var snapshot = BrainSnapshot.of(brain);
+            System.out.println(STR."PSNR: \{ImageFitting.psnr(snapshot, image, order, CpuVector::of)} dB");
+
+            if (epoch[0] % checkpointEvery != 0) {
+                write(snapshot, output, epoch[0], image.getWidth(), image.getHeight(), order);
+            }
+        } finally {
+            writer.shutdown();
+            writer.awaitTermination(1, TimeUnit.HOURS);
+        }
+    }
+
+    private void trainTiled(BufferedImage image, int order, int epochs, float targetLoss, Path output) throws IOException {
+        var fitting = new TiledImageFitting(
+                image,
+                Integer.parseInt(options.get("tile")),
+                Integer.parseInt(option("overlap", "4")),
+                order,
+                () -> newBrain(order),
+                CpuVector::of
+        );
+
+        var pool = new ForkJoinPool();
+        long start = System.nanoTime();
+
+        try {
+            fitting.train(epochs, targetLoss, pool);
+            System.out.println(STR."\{fitting.getTiles().size()} tiles trained in \{(System.nanoTime() - start) / 1_000_000} ms");
+
+            for (var tile : fitting.getTiles()) {
+                System.out.println(STR."Tile (\{tile.getX()}, \{tile.getY()}): \{tile.getEpochs()} epochs, loss \{tile.getLoss()}");
+            }
+
+            ImageIO.write(fitting.render(pool), "png", output.resolve("tiled.png").toFile());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return 1, or the epoch after the one of the --resume checkpoint
+     */
+    private int firstEpoch() {
+        if (!options.containsKey("resume")) {
+            return 1;
+        }
+
+        var matcher = CHECKPOINT_NAME.matcher(Path.of(options.get("resume")).getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) + 1 : 1;
+    }
+
+    private Brain createBrain(int order) throws IOException {
+        var brain = newBrain(order);
+
+        if (options.containsKey("resume")) {
+            try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Path.of(options.get("resume")))))) {
+                BrainSnapshot.readFrom(in).copyTo(brain);
+            }
+        }
+
+        return brain;
+    }
+
+    private Brain newBrain(int order) {
+        var layerDefinitions = new ArrayList<LayerDefinition>();
+        layerDefinitions.add(new LayerDefinition(order * 4, ActivationFunction.LINEAR));
+
+        for (String size : option("layers", "32,128,32").split(",")) {
+            layerDefinitions.add(new LayerDefinition(Integer.parseInt(size.trim()), ActivationFunction.LRELU));
+        }
+
+        layerDefinitions.add(new LayerDefinition(3, ActivationFunction.SIGMOID));
+
+        var brain = new Brain(CpuVector::new, CpuMatrix::new, layerDefinitions.toArray(LayerDefinition[]::new));
+        brain.setLearningRate(Float.parseFloat(option("learning-rate", "0.01")));
+        brain.setMiniBatchSize(Integer.parseInt(option("mini-batch", "32")));
+        return brain;
+    }
+
+    /**
+     * Only the snapshot is passed to the writer thread, the brain keeps training in the meantime<br>
+     * Existing checkpoints (e.g. of the run that is resumed) are kept
+     */
+    private void write(BrainSnapshot snapshot, Path output, int epoch, int width, int height, int order) {
+        writer.execute(() -> {
+            var name = STR."epoch-\{String.format("%04d", epoch)}";
+
+            try {
+                var checkpoint = output.resolve(STR."\{name}.brain");
+                var temporary = output.resolve(STR."\{name}.brain.tmp");
+
+                if (Files.exists(checkpoint)) {
+                    System.err.println(STR."Not overwriting \{checkpoint}");
+                    return;
+                }
+
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    snapshot.writeTo(out);
+                }
+
+                // Readers never see a half-written checkpoint
+                Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE);
+                ImageIO.write(ImageFitting.render(snapshot, width, height, order, CpuVector::of), "png", output.resolve(STR."\{name}.png").toFile());
+            } catch (IOException | RuntimeException e) {
+                // Nobody waits for the writer, so the failure is only reported
+                System.err.println(STR."Could not write \{name}: \{e}");
+            }
+        });
+    }
+
+}
@@ -0,0 +1,180 @@
+package brain.domain;
+
+import brain.math.Vector;
+import brain.misc.InferenceStatistics;
+import brain.misc.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Coalesces single predictions of many callers into batches for {@link Brain#predict(Vector[])}<br>
+ * A batch is run as soon as it contains {@link #maxBatchSize} requests or its oldest request has waited
+ * for {@link #maxWait}. Callers may block in {@link #predict(Vector)}, which is cheap on virtual threads.<br>
+ * The brain must not be trained while this predictor is running.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class BatchingPredictor implements Predictor, AutoCloseable {
+
+    private final Brain brain;
+
+    private final int maxBatchSize;
+
+    private final long maxWait;
+
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private final AtomicLongArray batchSizes;
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public BatchingPredictor(Brain brain, int maxBatchSize, Duration maxWait) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException(STR."Expected 'maxBatchSize' to be positive\nActual: \{maxBatchSize}");
+        }
+
+        this.brain = brain;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait.toNanos();
+        this.batchSizes = new AtomicLongArray(maxBatchSize + 1);
+        this.worker = Thread.ofPlatform()
+                .name("brain-batching-predictor")
+                .daemon()
+                .start(this::run);
+    }
+
+    public CompletableFuture<Vector> submit(Vector input) {
+        var future = new CompletableFuture<Vector>();
+
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("BatchingPredictor has been closed"));
+            return future;
+        }
+
+        var request = new Request(input, future, System.nanoTime());
+        queue.add(request);
+
+        // close() may have drained the queue between the check above and the add, nobody would take the request
+        if (!running && queue.remove(request)) {
+            request.cancel();
+        }
+
+        return future;
+    }
+
+    @Override
+    public Vector predict(Vector input) {
+        return submit(input).join();
+    }
+
+    public InferenceStatistics getStatistics() {
+        var histogram = new long[batchSizes.length()];
+        long batches = 0;
+        long requests = 0;
+
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = batchSizes.get(i);
+            batches += histogram[i];
+            requests += i * histogram[i];
+        }
+
+        return new InferenceStatistics(
+                requests,
+                batches,
+                latencies.percentile(50),
+                latencies.percentile(99),
+                histogram
+        );
+    }
+
+    private void run() {
+        var batch = new ArrayList<Request>(maxBatchSize);
+
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = batch.getFirst().enqueued() + maxWait;
+
+                while (batch.size() < maxBatchSize) {
+                    var request = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+                    if (request == null) {
+                        break;
+                    }
+
+                    batch.add(request);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            process(batch);
+            batch.clear();
+        }
+
+        batch.forEach(Request::cancel);
+    }
+
+    private void process(List<Request> batch) {
+        var inputs = new Vector[batch.size()];
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = batch.get(i).input();
+        }
+
+        // Counted before completing the futures, so callers that joined them see the batch in the statistics
+        batchSizes.incrementAndGet(batch.size());
+
+        try {
+            var outputs = brain.predict(inputs);
+            long now = System.nanoTime();
+
+            for (int i = 0; i < outputs.length; i++) {
+                var request = batch.get(i);
+                latencies.record(now - request.enqueued());
+                request.future().complete(outputs[i]);
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(request -> request.future().completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Requests that were submitted concurrently with close()
+        Request request;
+
+        while ((request = queue.poll()) != null) {
+            request.cancel();
+        }
+    }
+
+    private record Request(Vector input, CompletableFuture<Vector> future, long enqueued) {
+
+        void cancel() {
+            future.completeExceptionally(new CancellationException("BatchingPredictor has been closed"));
+        }
+
+    }
+
+}
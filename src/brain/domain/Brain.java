@@ -1,13 +1,18 @@
 package brain.domain;
 
+import brain.math.BufferPool;
+import brain.math.LossFunction;
 import brain.math.Matrix;
+import brain.math.Randoms;
 import brain.math.Vector;
 import brain.misc.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.Arrays;
-import java.util.Random;
+import java.util.IdentityHashMap;
+import java.util.SplittableRandom;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.IntFunction;
@@ -20,33 +25,104 @@ import java.util.function.IntFunction;
 
 @Getter
 @Setter
-public class Brain {
+public class Brain implements Predictor {
 
+    /**
+     * Seed of {@link Randoms}, can be changed with {@link Randoms#setSeed(long)}
+     */
     public static final long SEED = 12345;
 
-    public static final Random RANDOM = new Random();  // SEED not used here
-
     private final Layer[] layers;
 
+    private final IntFunction<Vector> vectorConstructor;
+
+    private final BiFunction<Integer, Integer, Matrix> matrixConstructor;
+
+    /**
+     * Gradients of the current mini-batch, allocated once and cleared before every mini-batch
+     */
+    @Getter(AccessLevel.NONE)
+    private final WeightBias[] gradients;
+
+    /**
+     * Temporaries of the backpropagation, released after every example
+     */
+    private final BufferPool bufferPool;
+
+    /**
+     * trainable[l] is false if the weights and biases of layer l are frozen (trainable[0] is unused)
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final boolean[] trainable;
+
+    /**
+     * Activations of {@link #frozenPrefixLayer} per example, they only depend on the input while all layers below are frozen
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final IdentityHashMap<TrainingExample, Vector> frozenPrefixOutputs = new IdentityHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int frozenPrefixLayer;
+
+    /**
+     * Training set whose examples are in {@link #frozenPrefixOutputs}, training another one clears the cache
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private TrainingExample[] frozenPrefixExamples;
+
+    /**
+     * Whether {@link #frozenPrefixOutputs} are cached, see {@link #setFrozenPrefixCaching(boolean)}
+     */
+    @Setter(AccessLevel.NONE)
+    private boolean frozenPrefixCaching;
+
     private float learningRate = 1.0f;
 
     private int miniBatchSize = 100;
 
+    @Setter(AccessLevel.NONE)
+    private LossFunction lossFunction = LossFunction.MEAN_SQUARED_ERROR;
+
+    /**
+     * 0 = backpropagation example by example, otherwise the whole mini-batch is backpropagated layer by layer and
+     * only every checkpointInterval-th layer's activations are kept, see {@link Checkpointing}
+     */
+    @Setter(AccessLevel.NONE)
+    private int checkpointInterval;
+
+    /**
+     * Incremented whenever the weights change, e.g. to invalidate cached predictions
+     */
+    @Setter(AccessLevel.NONE)
+    private long version;
+
     // Weight initialization:
     // https://machinelearningmastery.com/weight-initialization-for-deep-learning-neural-networks/
     public Brain(IntFunction<Vector> vectorConstructor,
                  BiFunction<Integer, Integer, Matrix> matrixConstructor,
                  LayerDefinition... layerDefinitions) {
+        this.vectorConstructor = vectorConstructor;
+        this.matrixConstructor = matrixConstructor;
         layers = new Layer[layerDefinitions.length];
         layers[0] = new Layer(layerDefinitions[0], vectorConstructor);
+        SplittableRandom random = Randoms.split();  // One generator per layer, split in layer order
 
         for (int i = 1; i < size(); i++) {
             var currentLayerDefinition = layerDefinitions[i];
             int previousLayerSize = layers[i - 1].size();
             float min = (float) (-Math.sqrt(6 / Math.sqrt(previousLayerSize + currentLayerDefinition.size())));
             float maxExcl = -min;
-            layers[i] = new Layer(currentLayerDefinition, previousLayerSize, min, maxExcl, vectorConstructor, matrixConstructor);
+            layers[i] = new Layer(currentLayerDefinition, previousLayerSize, min, maxExcl, vectorConstructor, matrixConstructor, random.split());
         }
+
+        gradients = WeightBias.makeArray(vectorConstructor, matrixConstructor, layerDefinitions);
+        bufferPool = new BufferPool(vectorConstructor, matrixConstructor);
+        trainable = new boolean[layers.length];
+        Arrays.fill(trainable, true);
     }
 
     /**
@@ -63,6 +139,14 @@ public class Brain {
         }
     }
 
+    /**
+     * Non-throwing alternative to {@link #test(TestExample[])}, see {@link Evaluator}
+     */
+    public EvaluationReport evaluate(TestExample[] testExamples) {
+        return Evaluator.evaluate(this, testExamples);
+    }
+
+    @Override
     public Vector predict(Vector input) {
         var curr = getInputLayer();
         curr.activate(input);
@@ -73,61 +157,379 @@ public class Brain {
             curr = next;
         }
 
-        return getOutputLayer().getActivations();
+        return lossFunction.output(getOutputLayer().getActivations());
     }
 
-    public void train(TrainingExample[] trainingExamples) {
+    /**
+     * Batched forward pass, all inputs are multiplied with the weights at once<br>
+     * Unlike {@link #predict(Vector)} this does not touch the activations stored in the layers
+     *
+     * @param inputs inputs that will be stacked as the columns of one matrix
+     * @return one output per input (in the same order)
+     */
+    public Vector[] predict(Vector[] inputs) {
+        if (inputs.length == 0) {
+            return new Vector[0];
+        }
+
+        var inputLayer = getInputLayer();
+        Matrix activations = matrixConstructor.apply(inputs.length, inputLayer.size());
+
+        for (int b = 0; b < inputs.length; b++) {
+            activations.setCol(b, inputs[b].map(inputLayer.getActivationFunction()::apply));
+        }
+
+        for (int l = 1; l < size(); l++) {
+            var layer = getLayer(l);
+            var biases = layer.getBiases();
+            var activationFunction = layer.getActivationFunction();
+            var linear = layer.getWeights().mult(activations);
+            activations = linear.withEachRow(j -> {
+                float bias = biases.get(j);
+                return linear.getRow(j).map(z -> activationFunction.apply(z + bias));
+            });
+        }
+
+        var outputs = new Vector[inputs.length];
+
+        for (int b = 0; b < inputs.length; b++) {
+            outputs[b] = lossFunction.output(activations.getCol(b));
+        }
+
+        return outputs;
+    }
+
+    /**
+     * @return mean loss of the examples, each measured right before the step of its mini-batch
+     */
+    public float train(TrainingExample[] trainingExamples) {
+        useTrainingSet(trainingExamples);
         var miniBatches = MiniBatch.shuffleAndChop(miniBatchSize, trainingExamples);
+        double loss = 0.0;
 
         for (MiniBatch miniBatch : miniBatches) {
-            WeightBias[] step = new WeightBias[size() - 1];
+            loss += computeGradients(miniBatch);
+            // Averaging the gradients and multiplying with the learning rate, then "stepping downhill"
+            step(-learningRate / miniBatch.size());
+        }
+
+        return (float) (loss / Math.max(1, trainingExamples.length));
+    }
+
+    /**
+     * Has to be called by every training loop with the array it samples its mini-batches from, before the first
+     * {@link #computeGradients(MiniBatch)}, so the frozen prefix cache only holds the examples of one training set
+     */
+    void useTrainingSet(TrainingExample[] trainingExamples) {
+        if (frozenPrefixCaching && trainingExamples != frozenPrefixExamples) {
+            frozenPrefixOutputs.clear();
+            frozenPrefixExamples = trainingExamples;
+        }
+    }
+
+    /**
+     * Overwrites {@link #gradients} with the summed gradients of all examples of the mini-batch
+     *
+     * @return summed cost of the examples (before the step)
+     */
+    float computeGradients(MiniBatch miniBatch) {
+        return computeGradients(miniBatch, null, null);
+    }
+
+    /**
+     * @param weights per example factor of its gradient (null = 1 for every example)
+     * @param losses  receives the (unweighted) loss of every example if not null
+     * @see #computeGradients(MiniBatch)
+     */
+    float computeGradients(MiniBatch miniBatch, float[] weights, float[] losses) {
+        return computeGradients(miniBatch, weights, losses, null);
+    }
 
-            for (int i = 0; i < miniBatch.size(); i++) {
-                WeightBias[] deltas = backpropagate(miniBatch.getExample(i));
-                WeightBias.add(step, deltas);  // Adding the deltas to our steps
+    /**
+     * @param inputGradients receives the gradient of the loss with respect to the input of every example if not null,
+     *                       e.g. to train an input encoding in front of the brain
+     * @see #computeGradients(MiniBatch, float[], float[])
+     */
+    float computeGradients(MiniBatch miniBatch, float[] weights, float[] losses, Vector[] inputGradients) {
+        // The input gradients need the deltas of all layers, otherwise nothing below the lowest trainable layer is needed
+        int bottom = (inputGradients == null) ? lowestTrainableLayer() : 1;
+
+        if (checkpointInterval > 0) {
+            return Checkpointing.computeGradients(this, miniBatch, checkpointInterval, bottom, weights, losses, inputGradients);
+        }
+
+        clearGradients();
+        float loss = 0.0f;
+
+        for (int i = 0; i < miniBatch.size(); i++) {
+            // Adding the gradients to our step
+            float exampleLoss = backpropagate(miniBatch.getExample(i), weights == null ? 1.0f : weights[i], bottom, inputGradients, i);
+            loss += exampleLoss;
+
+            if (losses != null) {
+                losses[i] = exampleLoss;
             }
 
-            // Averaging the deltas and multiplying with the learning rate, then "stepping downhill"
-            WeightBias.mult(step, learningRate / miniBatch.size());
-            sub(step);
+            bufferPool.releaseAll();
         }
+
+        return loss;
     }
 
-    private WeightBias[] backpropagate(TrainingExample trainingExample) {
-        var deltas = new WeightBias[size() - 1];
-        var output = predict(trainingExample.input());
-        var error = output.sub(trainingExample.target());  // Derivative of the cost function 1/2 * (o - t)²
-        var curr = getOutputLayer();
+    WeightBias[] getGradients() {
+        return gradients;
+    }
 
-        for (int i = outputLayerIndex() - 1; i >= 0; i--) {
-            var prev = getLayer(i);
-            var nablaBiases = curr.getNablaBiases(error, prev.getActivationFunction());
-            var nablaWeights = nablaBiases.mult(prev.getActivations().toRowVector());
-            deltas[i] = new WeightBias(nablaWeights, nablaBiases);
+    /**
+     * Frozen gradients are always 0, so only the trainable ones are cleared
+     */
+    void clearGradients() {
+        for (int l = 1; l < size(); l++) {
+            if (trainable[l]) {
+                gradients[l - 1].clear();
+            }
+        }
+    }
 
-            if (i > 0) {
-                error = curr.getWeights().transpose().mult(error);
-                curr = prev;
+    /**
+     * Asynchronous lock-free alternative to {@link #train(TrainingExample[])}, see {@link Hogwild}<br>
+     * Every example is applied immediately with a step of learningRate / miniBatchSize,
+     * so one epoch moves the weights about as far as one epoch of {@link #train(TrainingExample[])}.
+     * The result is not deterministic because the threads race on the shared weights.
+     *
+     * @param threads amount of threads that train at the same time
+     */
+    public TrainingStatistics trainHogwild(TrainingExample[] trainingExamples, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(STR."Expected 'threads' to be positive\nActual: \{threads}");
+        }
+
+        return new Hogwild(this).train(trainingExamples, threads, learningRate / miniBatchSize);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the output layer does not have the activation function the loss needs
+     */
+    public void setLossFunction(LossFunction lossFunction) {
+        lossFunction.check(getOutputLayer().getActivationFunction());
+        this.lossFunction = lossFunction;
+    }
+
+    /**
+     * @param checkpointInterval 0 to backpropagate example by example, 1 to backpropagate the mini-batch layer by
+     *                           layer with matrix-matrix products keeping all activations, k > 1 to keep only every
+     *                           k-th layer and recompute the rest, see {@link Checkpointing}
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException(STR."Expected 'checkpointInterval' to be non-negative\nActual: \{checkpointInterval}");
+        }
+
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Picks the checkpoint interval for the current mini-batch size: 1 if the activations of all layers fit into the
+     * budget, otherwise the checkpointed interval that needs the least memory and only if that does not fit either
+     * 0 (example by example)
+     *
+     * @param bytes memory for the activations of one mini-batch
+     * @return the chosen interval, see {@link #setCheckpointInterval(int)}
+     * @throws IllegalArgumentException if even the interval with the least memory needs more than bytes
+     */
+    public int setActivationMemoryBudget(long bytes) {
+        int[] layerSizes = Arrays.stream(layers).mapToInt(Layer::size).toArray();
+        setCheckpointInterval(Checkpointing.interval(layerSizes, miniBatchSize, bytes));
+        return checkpointInterval;
+    }
+
+    public boolean isTrainable(int layer) {
+        return trainable[layer];
+    }
+
+    /**
+     * Frozen layers keep their weights and biases: their gradients are neither computed nor applied, and the
+     * backpropagation stops below the lowest trainable layer
+     *
+     * @param layer index of a layer except the input layer
+     */
+    public void setTrainable(int layer, boolean trainable) {
+        if (layer < 1 || layer >= size()) {
+            throw new IllegalArgumentException(STR."Expected 'layer' to be in [1, \{size() - 1}]\nActual: \{layer}");
+        }
+
+        this.trainable[layer] = trainable;
+        gradients[layer - 1].clear();  // Frozen gradients stay 0
+        frozenPrefixOutputs.clear();  // The layer may have been trained since its activations were cached
+    }
+
+    /**
+     * Freezes the layers 1 to layer (inclusive) and makes all layers above trainable, e.g. to fine-tune the last layers
+     */
+    public void freezeUpTo(int layer) {
+        for (int l = 1; l < size(); l++) {
+            setTrainable(l, l > layer);
+        }
+    }
+
+    /**
+     * Off by default. The cache costs 4 bytes per neuron of the last frozen layer plus about 64 bytes (map entry,
+     * vector and array header) per training example, e.g. about 110MB for a million examples and 12 neurons.
+     * The training loops ({@link #train(TrainingExample[])}, {@link SnapshotPublisher}, {@link ImportanceSampler},
+     * {@link DataParallelTrainer}) only keep the examples of the last trained array.
+     *
+     * @param frozenPrefixCaching whether the activations of the last layer of the frozen prefix are cached per
+     *                            training example (by identity), so the frozen layers are only evaluated once
+     */
+    public void setFrozenPrefixCaching(boolean frozenPrefixCaching) {
+        this.frozenPrefixCaching = frozenPrefixCaching;
+        frozenPrefixOutputs.clear();
+        frozenPrefixExamples = null;
+    }
+
+    /**
+     * @return index of the lowest layer with trainable weights, {@link #size()} if all layers are frozen
+     */
+    int lowestTrainableLayer() {
+        int l = 1;
+
+        while (l < size() && !trainable[l]) {
+            l++;
+        }
+
+        return l;
+    }
+
+    /**
+     * @param prefix index of a layer whose activations only depend on the input (all layers up to it are frozen)
+     * @return activations of layer prefix for the example, from the cache if {@link #isFrozenPrefixCaching()}
+     */
+    Vector prefixActivations(TrainingExample trainingExample, int prefix) {
+        if (prefix != frozenPrefixLayer) {
+            frozenPrefixOutputs.clear();
+            frozenPrefixLayer = prefix;
+        }
+
+        var cached = frozenPrefixCaching ? frozenPrefixOutputs.get(trainingExample) : null;
+
+        if (cached == null) {
+            var curr = getInputLayer();
+            curr.activate(trainingExample.input());
+
+            for (int l = 1; l <= prefix; l++) {
+                curr.feedforward(getLayer(l));
+                curr = getLayer(l);
+            }
+
+            cached = curr.getActivations().copy();
+
+            if (frozenPrefixCaching) {
+                frozenPrefixOutputs.put(trainingExample, cached);
             }
         }
 
-        return deltas;
+        return cached;
     }
 
-    private void add(WeightBias[] deltas) {
-        if (deltas.length != size() - 1) {
-            throw new IllegalArgumentException(STR."Expected 'deltas.length' to be: \{size() - 1}\nActual: \{deltas.length}");
+    /**
+     * Same as {@link #predict(Vector)}, but starts at the cached activations of the frozen prefix
+     *
+     * @return activations of the output layer, {@link LossFunction#output(Vector)} is not applied
+     */
+    private Vector activate(TrainingExample trainingExample, int prefix) {
+        var curr = getInputLayer();
+        int from = 1;
+
+        if (prefix == 0 || !frozenPrefixCaching) {
+            curr.activate(trainingExample.input());
+        } else {
+            curr = getLayer(prefix);
+            curr.restore(prefixActivations(trainingExample, prefix));
+            from = prefix + 1;
+        }
+
+        for (int l = from; l < size(); l++) {
+            curr.feedforward(getLayer(l));
+            curr = getLayer(l);
         }
 
-        forEachHiddenLayer((i, layer) -> layer.add(deltas[i - 1]));
+        return getOutputLayer().getActivations();
     }
 
-    private void sub(WeightBias[] deltas) {
-        if (deltas.length != size() - 1) {
-            throw new IllegalArgumentException(STR."Expected 'deltas.length' to be: \{size() - 1}\nActual: \{deltas.length}");
+    /**
+     * @return mean cost over all examples, see {@link #getLossFunction()}
+     */
+    public float loss(TrainingExample[] trainingExamples) {
+        double loss = 0.0;
+
+        for (TrainingExample trainingExample : trainingExamples) {
+            loss += lossFunction.loss(predict(trainingExample.input()), trainingExample.target());
         }
 
-        forEachHiddenLayer((i, layer) -> layer.sub(deltas[i - 1]));
+        return (float) (loss / Math.max(1, trainingExamples.length));
+    }
+
+    /**
+     * Adds the gradients of a single example to {@link #gradients}<br>
+     * All temporaries are borrowed from {@link #bufferPool}, so once the pool is warm a step only allocates on a miss of
+     * the frozen prefix cache (the copy of the cached activations) and for inputGradients[k] if it is null or of
+     * another size
+     *
+     * @param bottom         lowest layer whose deltas are computed
+     * @param inputGradients receives the gradient with respect to the input at index k if not null (needs bottom 1),
+     *                       a vector of the right size that is already there is overwritten
+     * @return cost of the example, see {@link #getLossFunction()}
+     */
+    private float backpropagate(TrainingExample trainingExample, float weight, int bottom, Vector[] inputGradients, int k) {
+        var activations = activate(trainingExample, Math.min(bottom, size()) - 1);
+        var output = lossFunction.output(activations, bufferPool.vector(activations.size()));
+        float loss = lossFunction.loss(output, trainingExample.target());
+        var gradient = lossFunction.gradient(output, trainingExample.target(), bufferPool.vector(output.size()));
+        // Fused losses already are the gradient with respect to the linear activations
+        var nablaBiases = lossFunction.isFused() ? gradient : getOutputLayer().getNablaBiases(gradient, gradient);
+
+        if (weight != 1.0f) {
+            nablaBiases.mult(weight, nablaBiases);  // Scales the gradients of all layers (linear in the output deltas)
+        }
+
+        for (int l = outputLayerIndex(); l >= bottom; l--) {
+            var curr = getLayer(l);
+            var prev = getLayer(l - 1);
+
+            if (trainable[l]) {
+                gradients[l - 1].accumulate(nablaBiases, prev.getActivations());
+            }
+
+            if (l > bottom) {
+                var deltas = curr.getWeights().multTransposed(nablaBiases, bufferPool.vector(prev.size()));
+                nablaBiases = prev.getNablaBiases(deltas, deltas);
+            } else if (inputGradients != null) {
+                if (inputGradients[k] == null || inputGradients[k].size() != prev.size()) {
+                    inputGradients[k] = vectorConstructor.apply(prev.size());
+                }
+
+                var deltas = curr.getWeights().multTransposed(nablaBiases, inputGradients[k]);
+                prev.getNablaBiases(deltas, deltas);
+            }
+        }
+
+        return loss;
+    }
+
+    /**
+     * Adds the accumulated gradients multiplied by factor to the weights and biases in place
+     */
+    void step(float factor) {
+        forEachTrainableLayer((i, layer) -> layer.addScaled(gradients[i - 1], factor));
+        version++;
+    }
+
+    /**
+     * Has to be called after modifying the weights of a layer directly
+     */
+    void weightsChanged() {
+        version++;
+        frozenPrefixOutputs.clear();
     }
 
     /**
@@ -141,6 +543,14 @@ public class Brain {
         }
     }
 
+    private void forEachTrainableLayer(BiConsumer<Integer, Layer> biConsumer) {
+        forEachHiddenLayer((i, layer) -> {
+            if (trainable[i]) {
+                biConsumer.accept(i, layer);
+            }
+        });
+    }
+
     public int size() {
         return layers.length;
     }
@@ -198,13 +608,39 @@ public class Brain {
      * Best use case: <a href="https://shadertoy.com">Shadertoy</a>
      */
     public String generateSourceCode() {
-        StringBuilder sb = new StringBuilder(totalSize());
+        return generateSourceCode(SourceLanguage.GLSL);
+    }
+
+    /**
+     * Generates a function (GLSL, C) or class (Java) that evaluates this brain without any framework,
+     * see {@link Layer#generateSourceCode(int, SourceLanguage)}
+     */
+    public String generateSourceCode(SourceLanguage language) {
+        StringBuilder sb = new StringBuilder(totalSize() * 16);  // About 16 characters per weight
+        int[] layerSizes = Arrays.stream(layers).mapToInt(Layer::size).toArray();
+        var chunks = new int[size()][];
 
         for (int i = 0; i < size(); i++) {
-            sb.append(getLayerComment(i)).append('\n');
-            sb.append(getLayer(i).generateSourceCode(i));
+            chunks[i] = language.isSplitIntoLayers()
+                    ? getLayer(i).sourceCodeChunks(SourceLanguage.MAX_TERMS_PER_METHOD)
+                    : new int[]{0, getLayer(i).size()};
+        }
+
+        int[] chunkCounts = Arrays.stream(chunks).mapToInt(boundaries -> boundaries.length - 1).toArray();
+        boolean softmax = lossFunction == LossFunction.SOFTMAX_CROSS_ENTROPY;
+        sb.append(language.header(getInputLayer().size(), getOutputLayer().size(), layerSizes, chunkCounts, softmax));
+
+        for (int i = 0; i < size(); i++) {
+            sb.append("    ").append(getLayerComment(i)).append('\n');
+
+            for (int c = 0; c < chunkCounts[i]; c++) {
+                sb.append(language.layerHeader(i, c));
+                sb.append(getLayer(i).generateSourceCode(i, language, chunks[i][c], chunks[i][c + 1]));
+                sb.append(language.layerFooter());
+            }
         }
 
+        sb.append(language.footer(outputLayerIndex(), getOutputLayer().size(), softmax));
         return sb.toString();
     }
 
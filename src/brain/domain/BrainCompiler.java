@@ -0,0 +1,186 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.LossFunction;
+import brain.math.Matrix;
+import brain.misc.SourceLanguage;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Compiles a snapshot of a {@link Brain} into a hidden class whose loops are specialized to the exact layer sizes
+ * and activation functions of that brain. The weights are copied into static final arrays (passed as class data),
+ * so later changes to the brain do not affect the compiled class.<br>
+ * Needs the system java compiler (module jdk.compiler) at runtime.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public final class BrainCompiler {
+
+    private static final String CLASS_NAME = "GeneratedCompiledBrain";
+
+    private BrainCompiler() {
+    }
+
+    public static CompiledBrain compile(Brain brain) {
+        var classData = new float[2 * (brain.size() - 1)][];
+
+        for (int l = 1; l < brain.size(); l++) {
+            classData[2 * (l - 1)] = flatten(brain.getLayer(l).getWeights());
+            classData[2 * (l - 1) + 1] = brain.getLayer(l).getBiases().toArray();
+        }
+
+        byte[] bytes = compileSource(generateSource(brain));
+
+        try {
+            var lookup = MethodHandles.lookup().defineHiddenClassWithClassData(bytes, classData, true);
+            return (CompiledBrain) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not define the compiled brain", e);
+        }
+    }
+
+    /**
+     * @return the source code of the class that {@link #compile(Brain)} would define
+     */
+    public static String generateSource(Brain brain) {
+        var language = SourceLanguage.JAVA;
+        var sb = new StringBuilder();
+        int outputLayer = brain.outputLayerIndex();
+
+        sb.append("package brain.domain;\n\n");
+        sb.append("import java.lang.invoke.MethodHandles;\n\n");
+        sb.append(STR."public final class \{CLASS_NAME} implements CompiledBrain {\n\n");
+
+        for (int l = 1; l < brain.size(); l++) {
+            sb.append(STR."    private static final float[] W\{l};\n");
+            sb.append(STR."    private static final float[] B\{l};\n");
+        }
+
+        sb.append("\n    static {\n");
+        sb.append("        try {\n");
+        sb.append("            float[][] data = MethodHandles.classData(MethodHandles.lookup(), \"_\", float[][].class);\n");
+
+        for (int l = 1; l < brain.size(); l++) {
+            sb.append(STR."            W\{l} = data[\{2 * (l - 1)}];\n");
+            sb.append(STR."            B\{l} = data[\{2 * (l - 1) + 1}];\n");
+        }
+
+        sb.append("        } catch (IllegalAccessException e) {\n");
+        sb.append("            throw new ExceptionInInitializerError(e);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append(STR."    public int inputSize() {\n        return \{brain.getInputLayer().size()};\n    }\n\n");
+        sb.append(STR."    public int outputSize() {\n        return \{brain.getOutputLayer().size()};\n    }\n\n");
+
+        sb.append("    public void predict(float[] inputs, float[] outputs) {\n");
+        var inputLayer = brain.getInputLayer();
+
+        if (inputLayer.getActivationFunction() == ActivationFunction.LINEAR) {
+            sb.append("        float[] a0 = inputs;\n");
+        } else {
+            sb.append(STR."        float[] a0 = new float[\{inputLayer.size()}];\n");
+            sb.append(STR."        for (int j = 0; j < \{inputLayer.size()}; j++) {\n");
+            sb.append("            float z = inputs[j];\n");
+            sb.append(STR."            a0[j] = \{language.apply(inputLayer.getActivationFunction(), "z")};\n");
+            sb.append("        }\n");
+        }
+
+        for (int l = 1; l < brain.size(); l++) {
+            var layer = brain.getLayer(l);
+            int inputs = brain.getLayer(l - 1).size();
+            int outputs = layer.size();
+
+            sb.append(STR."        float[] a\{l} = new float[\{outputs}];\n");
+            sb.append(STR."        for (int j = 0; j < \{outputs}; j++) {\n");
+            sb.append(STR."            int offset = j * \{inputs};\n");
+            sb.append(STR."            float z = B\{l}[j];\n");
+            sb.append(STR."            for (int k = 0; k < \{inputs}; k++) {\n");
+            sb.append(STR."                z += W\{l}[offset + k] * a\{l - 1}[k];\n");
+            sb.append("            }\n");
+            sb.append(STR."            a\{l}[j] = \{language.apply(layer.getActivationFunction(), "z")};\n");
+            sb.append("        }\n");
+        }
+
+        if (brain.getLossFunction() == LossFunction.SOFTMAX_CROSS_ENTROPY) {
+            // Same as LossFunction.output(), subtracting the maximum prevents overflow
+            int outputs = brain.getOutputLayer().size();
+            sb.append(STR."        float max = a\{outputLayer}[0];\n");
+            sb.append(STR."        for (int j = 1; j < \{outputs}; j++) {\n");
+            sb.append(STR."            max = Math.max(max, a\{outputLayer}[j]);\n");
+            sb.append("        }\n");
+            sb.append("        float sum = 0.0f;\n");
+            sb.append(STR."        for (int j = 0; j < \{outputs}; j++) {\n");
+            sb.append(STR."            outputs[j] = (float) Math.exp(a\{outputLayer}[j] - max);\n");
+            sb.append("            sum += outputs[j];\n");
+            sb.append("        }\n");
+            sb.append(STR."        for (int j = 0; j < \{outputs}; j++) {\n");
+            sb.append("            outputs[j] *= 1.0f / sum;\n");
+            sb.append("        }\n");
+        } else {
+            sb.append(STR."        System.arraycopy(a\{outputLayer}, 0, outputs, 0, \{brain.getOutputLayer().size()});\n");
+        }
+
+        sb.append("    }\n\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static byte[] compileSource(String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null) {
+            throw new IllegalStateException("No system java compiler available (module jdk.compiler is missing)");
+        }
+
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        var output = new ByteArrayOutputStream();
+        var sourceFile = new SimpleJavaFileObject(URI.create(STR."string:///brain/domain/\{CLASS_NAME}.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        var fileManager = new ForwardingJavaFileManager<>(compiler.getStandardFileManager(diagnostics, null, null)) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create(STR."bytes:///\{className.replace('.', '/')}.class"), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        return output;
+                    }
+                };
+            }
+        };
+
+        var options = List.of("-classpath", System.getProperty("java.class.path"), "-g:none");
+        boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, List.of(sourceFile)).call();
+
+        if (!success) {
+            throw new IllegalStateException(STR."Could not compile the generated brain:\n\{diagnostics.getDiagnostics()}");
+        }
+
+        return output.toByteArray();
+    }
+
+    private static float[] flatten(Matrix m) {
+        var flat = new float[m.cols * m.rows];
+
+        for (int j = 0; j < m.rows; j++) {
+            for (int i = 0; i < m.cols; i++) {
+                flat[j * m.cols + i] = m.get(i, j);
+            }
+        }
+
+        return flat;
+    }
+
+}
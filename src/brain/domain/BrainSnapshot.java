@@ -0,0 +1,201 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuVector;
+import brain.math.LossFunction;
+import brain.math.Vector;
+import lombok.Getter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Immutable copy of the weights and biases of a {@link Brain} at one point in time<br>
+ * The weights are copied into private arrays that are never written to afterwards, so any amount of threads can
+ * predict at the same time without locks, even while the brain itself keeps training.<br>
+ * Snapshots can be written to and read from a binary checkpoint, see {@link #writeTo(DataOutput)}.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public final class BrainSnapshot implements Predictor {
+
+    /**
+     * "BRN1"
+     */
+    private static final int MAGIC = 0x42524E31;
+
+    /**
+     * {@link Brain#getVersion()} at the time of the copy
+     */
+    @Getter
+    private final long version;
+
+    private final int[] sizes;
+
+    private final ActivationFunction[] activationFunctions;
+
+    @Getter
+    private final LossFunction lossFunction;
+
+    /**
+     * weights[l] contains the weights of layer l row by row followed by its biases (weights[0] is empty)
+     */
+    private final float[][] weights;
+
+    private BrainSnapshot(Brain brain) {
+        this.version = brain.getVersion();
+        this.sizes = new int[brain.size()];
+        this.activationFunctions = new ActivationFunction[brain.size()];
+        this.lossFunction = brain.getLossFunction();
+        this.weights = new float[brain.size()][];
+
+        for (int l = 0; l < brain.size(); l++) {
+            var layer = brain.getLayer(l);
+            sizes[l] = layer.size();
+            activationFunctions[l] = layer.getActivationFunction();
+
+            if (l == 0) {
+                weights[l] = new float[0];
+            } else {
+                weights[l] = new float[layer.getWeightBias().flatSize()];
+                layer.getWeightBias().writeTo(weights[l], 0);
+            }
+        }
+    }
+
+    private BrainSnapshot(long version,
+                          int[] sizes,
+                          ActivationFunction[] activationFunctions,
+                          LossFunction lossFunction,
+                          float[][] weights) {
+        this.version = version;
+        this.sizes = sizes;
+        this.activationFunctions = activationFunctions;
+        this.lossFunction = lossFunction;
+        this.weights = weights;
+    }
+
+    /**
+     * Must not run concurrently with training on the same brain, e.g. call it on the training thread between steps
+     */
+    public static BrainSnapshot of(Brain brain) {
+        return new BrainSnapshot(brain);
+    }
+
+    /**
+     * Format: magic, version, layer count, per layer its size and activation function, loss function,
+     * then per layer (except the input layer) its weights row by row followed by its biases
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(version);
+        out.writeInt(sizes.length);
+
+        for (int l = 0; l < sizes.length; l++) {
+            out.writeInt(sizes[l]);
+            out.writeUTF(activationFunctions[l].name());
+        }
+
+        out.writeUTF(lossFunction.name());
+
+        for (int l = 1; l < sizes.length; l++) {
+            for (float value : weights[l]) {
+                out.writeFloat(value);
+            }
+        }
+    }
+
+    /**
+     * Inverse of {@link #writeTo(DataOutput)}
+     */
+    public static BrainSnapshot readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a brain checkpoint");
+        }
+
+        long version = in.readLong();
+        int layers = in.readInt();
+        var sizes = new int[layers];
+        var activationFunctions = new ActivationFunction[layers];
+
+        for (int l = 0; l < layers; l++) {
+            sizes[l] = in.readInt();
+            activationFunctions[l] = ActivationFunction.valueOf(in.readUTF());
+        }
+
+        var lossFunction = LossFunction.valueOf(in.readUTF());
+        var weights = new float[layers][];
+        weights[0] = new float[0];
+
+        for (int l = 1; l < layers; l++) {
+            weights[l] = new float[(sizes[l - 1] + 1) * sizes[l]];
+
+            for (int i = 0; i < weights[l].length; i++) {
+                weights[l][i] = in.readFloat();
+            }
+        }
+
+        return new BrainSnapshot(version, sizes, activationFunctions, lossFunction, weights);
+    }
+
+    /**
+     * Overwrites the weights, biases and loss function of brain with the ones of this snapshot
+     *
+     * @throws IllegalArgumentException if the layers of brain do not match
+     */
+    public void copyTo(Brain brain) {
+        if (brain.size() != sizes.length) {
+            throw new IllegalArgumentException(STR."Expected \{sizes.length} layers\nActual: \{brain.size()}");
+        }
+
+        for (int l = 0; l < sizes.length; l++) {
+            var layer = brain.getLayer(l);
+
+            if (layer.size() != sizes[l] || layer.getActivationFunction() != activationFunctions[l]) {
+                throw new IllegalArgumentException(STR."Layer \{l} does not match, expected: \{sizes[l]} \{activationFunctions[l]}");
+            }
+        }
+
+        for (int l = 1; l < sizes.length; l++) {
+            brain.getLayer(l).getWeightBias().readFrom(weights[l], 0);
+        }
+
+        brain.setLossFunction(lossFunction);
+        brain.weightsChanged();
+    }
+
+    public int outputSize() {
+        return sizes[sizes.length - 1];
+    }
+
+    @Override
+    public Vector predict(Vector input) {
+        var activations = new float[sizes[0]];
+
+        for (int i = 0; i < activations.length; i++) {
+            activations[i] = activationFunctions[0].apply(input.get(i));
+        }
+
+        for (int l = 1; l < sizes.length; l++) {
+            int inputs = sizes[l - 1];
+            int biases = sizes[l] * inputs;
+            var next = new float[sizes[l]];
+
+            for (int j = 0; j < next.length; j++) {
+                float z = weights[l][biases + j];
+
+                for (int i = 0; i < inputs; i++) {
+                    z += weights[l][j * inputs + i] * activations[i];
+                }
+
+                next[j] = activationFunctions[l].apply(z);
+            }
+
+            activations = next;
+        }
+
+        return lossFunction.output(CpuVector.of(activations));
+    }
+
+}
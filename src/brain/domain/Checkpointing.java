@@ -0,0 +1,207 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.Matrix;
+import brain.math.Vector;
+import brain.misc.MiniBatch;
+
+import java.util.Arrays;
+
+/**
+ * Layer-by-layer backpropagation of a whole mini-batch with activation checkpointing<br>
+ * The activations of a layer are one matrix with a column per example, so every layer is a single matrix-matrix
+ * product forwards ({@code W * A}) and two backwards ({@code W^T * D} and {@code D * A^T}) instead of one
+ * matrix-vector product per example. The forward pass only keeps the activations of every k-th layer (the
+ * checkpoints). The backward pass walks the segments between two checkpoints from the top down, recomputes the
+ * activations inside a segment from its checkpoint and then propagates the deltas of all examples through it. Every
+ * layer between two checkpoints is recomputed exactly once, so checkpointing costs about one extra forward pass,
+ * while the memory shrinks from all layers to the checkpoints plus one segment.
+ * <p>
+ * Only the activations are kept, the derivatives are taken from them
+ * (see {@link ActivationFunction#applyDerivativeFromActivation(float)}), so the linear activations are never stored.
+ *
+ * @since 19.10.2026, Mo.
+ */
+final class Checkpointing {
+
+    private Checkpointing() {
+    }
+
+    /**
+     * Same result as the per-example backpropagation of {@link Brain#computeGradients(MiniBatch, float[], float[], Vector[])}
+     *
+     * @param interval every interval-th layer is a checkpoint, 1 keeps every layer and recomputes nothing
+     * @param bottom   lowest layer whose deltas are computed, the forward pass starts at the frozen prefix below it
+     */
+    static float computeGradients(Brain brain,
+                                  MiniBatch miniBatch,
+                                  int interval,
+                                  int bottom,
+                                  float[] weights,
+                                  float[] losses,
+                                  Vector[] inputGradients) {
+        var gradients = brain.getGradients();
+        var lossFunction = brain.getLossFunction();
+        int outputLayerIndex = brain.outputLayerIndex();
+        int batchSize = miniBatch.size();
+        brain.clearGradients();
+
+        // Forward pass from the frozen prefix (or the input), activations[l] is only kept for checkpoints
+        int start = Math.min(bottom, brain.size()) - 1;
+        var startLayer = brain.getLayer(start);
+        var activations = new Matrix[brain.size()];
+        activations[start] = brain.getMatrixConstructor().apply(batchSize, startLayer.size());
+
+        for (int b = 0; b < batchSize; b++) {
+            var example = miniBatch.getExample(b);
+            activations[start].setCol(b, (start > 0)
+                    ? brain.prefixActivations(example, start)
+                    : example.input().apply(startLayer.getActivationFunction()));
+        }
+
+        var current = activations[start];
+
+        for (int l = start + 1; l <= outputLayerIndex; l++) {
+            current = brain.getLayer(l).feedforward(current);
+
+            if ((l - start) % interval == 0 && l < outputLayerIndex) {
+                activations[l] = current;
+            }
+        }
+
+        // Deltas with respect to the linear activations of the output layer, one column per example
+        var outputLayer = brain.getOutputLayer();
+        var outputs = current;
+        var nablaBiases = brain.getMatrixConstructor().apply(batchSize, outputLayer.size());
+        float loss = 0.0f;
+
+        for (int b = 0; b < batchSize; b++) {
+            var target = miniBatch.getExample(b).target();
+            var output = lossFunction.output(outputs.getCol(b));
+            float exampleLoss = lossFunction.loss(output, target);
+            loss += exampleLoss;
+
+            if (losses != null) {
+                losses[b] = exampleLoss;
+            }
+
+            var gradient = lossFunction.gradient(output, target);
+
+            if (weights != null && weights[b] != 1.0f) {
+                gradient = gradient.mult(weights[b]);  // Linear in the deltas, so the derivative can come afterwards
+            }
+
+            nablaBiases.setCol(b, gradient);
+        }
+
+        if (!lossFunction.isFused()) {
+            nablaBiases = outputLayer.getNablaBiases(outputs, nablaBiases);
+        }
+
+        // Backward pass, segment by segment from the top
+        for (int top = outputLayerIndex; top > start; ) {
+            int checkpoint = start + (top - 1 - start) / interval * interval;
+
+            for (int l = checkpoint + 1; l < top; l++) {
+                activations[l] = brain.getLayer(l).feedforward(activations[l - 1]);
+            }
+
+            for (int l = top; l > checkpoint; l--) {
+                var curr = brain.getLayer(l);
+                var prev = brain.getLayer(l - 1);
+
+                if (brain.isTrainable(l)) {
+                    gradients[l - 1].accumulate(nablaBiases, activations[l - 1]);
+                }
+
+                if (l > bottom || inputGradients != null) {
+                    nablaBiases = prev.getNablaBiases(activations[l - 1], curr.getWeights().transpose().mult(nablaBiases));
+                }
+
+                // Every activation (recomputed or checkpoint) is only needed by the layer above it
+                activations[l - 1] = null;
+            }
+
+            top = checkpoint;
+        }
+
+        if (inputGradients != null) {
+            for (int b = 0; b < batchSize; b++) {
+                inputGradients[b] = nablaBiases.getCol(b);
+            }
+        }
+
+        return loss;
+    }
+
+    /**
+     * @return floats of activations kept at the same time for the given checkpoint interval:
+     * the checkpoints, the largest recomputed segment, the deltas of two adjacent layers and one temporary of a layer
+     * (e.g. the transposed activations of {@code D * A^T}); for interval 0 the vectors of the layers, which only hold
+     * a single example
+     */
+    static long activationMemory(int[] layerSizes, int batchSize, int interval) {
+        if (interval == 0) {
+            // Example by example: the activations and linear activations of every layer and the deltas
+            return 2L * Arrays.stream(layerSizes).asLongStream().sum() + 2L * Arrays.stream(layerSizes).max().orElse(0);
+        }
+
+        int outputLayerIndex = layerSizes.length - 1;
+        long checkpoints = 0;
+        long largestSegment = 0;
+        long segment = 0;
+        int maxSize = 0;
+
+        for (int l = 0; l < layerSizes.length; l++) {
+            maxSize = Math.max(maxSize, layerSizes[l]);
+
+            if (l == outputLayerIndex) {
+                break;
+            }
+
+            if (l % interval == 0) {
+                checkpoints += layerSizes[l];
+                segment = 0;
+            } else {
+                segment += layerSizes[l];
+                largestSegment = Math.max(largestSegment, segment);
+            }
+        }
+
+        // Deltas, the deltas of the next layer down and one temporary
+        return (long) batchSize * (checkpoints + largestSegment + 3L * maxSize);
+    }
+
+    /**
+     * @return 1 if all activations fit into the budget, otherwise the checkpointed interval > 1 with the least memory
+     * (every interval > 1 recomputes about one forward pass, so there is nothing to gain from more memory) and only if
+     * not even that fits 0, example by example, which gives up the matrix-matrix products
+     * @throws IllegalArgumentException if not even example by example fits into the budget
+     */
+    static int interval(int[] layerSizes, int batchSize, long budgetBytes) {
+        if (activationMemory(layerSizes, batchSize, 1) * Float.BYTES <= budgetBytes) {
+            return 1;
+        }
+
+        int best = 1;
+
+        for (int interval = 2; interval < layerSizes.length; interval++) {
+            if (activationMemory(layerSizes, batchSize, interval) < activationMemory(layerSizes, batchSize, best)) {
+                best = interval;
+            }
+        }
+
+        if (activationMemory(layerSizes, batchSize, best) * Float.BYTES <= budgetBytes) {
+            return best;
+        }
+
+        long bytes = activationMemory(layerSizes, batchSize, 0) * Float.BYTES;
+
+        if (bytes > budgetBytes) {
+            throw new IllegalArgumentException(STR."Expected a budget of at least \{bytes} bytes\nActual: \{budgetBytes}");
+        }
+
+        return 0;
+    }
+
+}
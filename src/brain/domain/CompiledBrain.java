@@ -0,0 +1,39 @@
+package brain.domain;
+
+import brain.math.CpuVector;
+import brain.math.Vector;
+
+/**
+ * A frozen {@link Brain} compiled into its own class by {@link BrainCompiler}
+ *
+ * @since 19.10.2026, Mo.
+ */
+public interface CompiledBrain extends Predictor {
+
+    int inputSize();
+
+    int outputSize();
+
+    /**
+     * Thread-safe, only the arrays that are passed in are written to
+     *
+     * @param inputs  activations of the input layer
+     * @param outputs will contain the prediction, the activations of the output layer or softmax of them
+     *                (see {@link brain.math.LossFunction#output(Vector)})
+     */
+    void predict(float[] inputs, float[] outputs);
+
+    @Override
+    default Vector predict(Vector input) {
+        var inputs = new float[inputSize()];
+        var outputs = new float[outputSize()];
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = input.get(i);
+        }
+
+        predict(inputs, outputs);
+        return CpuVector.of(outputs);
+    }
+
+}
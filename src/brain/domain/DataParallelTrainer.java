@@ -0,0 +1,132 @@
+package brain.domain;
+
+import brain.misc.MiniBatch;
+import brain.misc.RingAllReduce;
+import brain.misc.TrainingExample;
+import brain.misc.TrainingStatistics;
+import brain.misc.WeightBias;
+
+import java.util.Arrays;
+
+/**
+ * Synchronous data-parallel training: every process (rank) trains its own replica of the brain on its own shard of
+ * the training data. After every mini-batch the gradients of all ranks are summed with a {@link RingAllReduce},
+ * so all replicas take exactly the same step and stay identical.
+ * The ranks can be threads (see the tests) or separate processes, see {@link brain.DataParallelMain}.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class DataParallelTrainer {
+
+    private final Brain brain;
+
+    private final RingAllReduce ring;
+
+    /**
+     * Flat gradients of all layers (or the weights during {@link #synchronizeWeights()})
+     */
+    private final float[] buffer;
+
+    /**
+     * Amount of examples and summed loss of the mini-batch, always reduced at full precision: as a 16-bit float
+     * the count would already be rounded above 2048
+     */
+    private final float[] statistics = new float[2];
+
+    public DataParallelTrainer(Brain brain, RingAllReduce ring) {
+        this.brain = brain;
+        this.ring = ring;
+        int size = 0;
+
+        for (WeightBias gradient : brain.getGradients()) {
+            size += gradient.flatSize();
+        }
+
+        this.buffer = new float[size];
+    }
+
+    /**
+     * Overwrites the weights of every replica with the weights of rank 0, has to be called by all ranks before training<br>
+     * Always at full precision, only the gradients are sent as 16-bit floats
+     */
+    public void synchronizeWeights() {
+        int offset = 0;
+
+        for (int l = 1; l < brain.size(); l++) {
+            offset = brain.getLayer(l).getWeightBias().writeTo(buffer, offset);
+        }
+
+        if (ring.getRank() != 0) {
+            Arrays.fill(buffer, 0.0f);
+        }
+
+        ring.allReduceFullPrecision(buffer);
+        offset = 0;
+
+        for (int l = 1; l < brain.size(); l++) {
+            offset = brain.getLayer(l).getWeightBias().readFrom(buffer, offset);
+        }
+
+        brain.weightsChanged();
+    }
+
+    /**
+     * Trains one epoch, has to be called by all ranks at the same time
+     *
+     * @param shard training examples of this rank, all ranks need the same amount of mini-batches
+     * @return statistics of all ranks combined
+     */
+    public TrainingStatistics train(TrainingExample[] shard) {
+        brain.useTrainingSet(shard);
+        var miniBatches = MiniBatch.shuffleAndChop(brain.getMiniBatchSize(), shard);
+        checkMiniBatchCount(miniBatches.length);
+
+        long start = System.nanoTime();
+        int examples = 0;
+        double loss = 0.0;
+
+        for (MiniBatch miniBatch : miniBatches) {
+            float miniBatchLoss = brain.computeGradients(miniBatch);
+            int offset = 0;
+
+            for (WeightBias gradient : brain.getGradients()) {
+                offset = gradient.writeTo(buffer, offset);
+            }
+
+            ring.allReduce(buffer);
+            offset = 0;
+
+            for (WeightBias gradient : brain.getGradients()) {
+                offset = gradient.readFrom(buffer, offset);
+            }
+
+            statistics[0] = miniBatch.size();
+            statistics[1] = miniBatchLoss;
+            ring.allReduceFullPrecision(statistics);
+            float count = statistics[0];
+            examples += Math.round(count);
+            loss += statistics[1];
+            brain.step(-brain.getLearningRate() / count);
+        }
+
+        return new TrainingStatistics(examples, System.nanoTime() - start, (float) (loss / Math.max(1, examples)));
+    }
+
+    /**
+     * A rank with fewer mini-batches would stop calling {@link RingAllReduce#allReduce(float[])} and block the others<br>
+     * Every rank gathers the counts of all ranks, so all of them reach the same decision (a sum alone would let a
+     * rank with the mean count pass while the others throw and never call the next all-reduce)
+     */
+    private void checkMiniBatchCount(int miniBatches) {
+        float[] counts = new float[ring.getWorldSize()];
+        counts[ring.getRank()] = miniBatches;
+        ring.allReduceFullPrecision(counts);
+
+        for (float count : counts) {
+            if (count != counts[0]) {
+                throw new IllegalStateException(STR."All ranks need the same amount of mini-batches\nActual: \{Arrays.toString(counts)}");
+            }
+        }
+    }
+
+}
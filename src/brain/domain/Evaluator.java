@@ -0,0 +1,78 @@
+package brain.domain;
+
+import brain.misc.EvaluationReport;
+import brain.misc.TestExample;
+
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates test examples in parallel without throwing on misclassifications (unlike {@link Brain#test(TestExample[])})<br>
+ * The examples are split into batches that run on the common fork-join pool, every batch counts into its own
+ * confusion matrix and the results are merged at the end. The predictions are made with a {@link BrainSnapshot},
+ * so the brain can keep training while the evaluation runs.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public final class Evaluator {
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private Evaluator() {
+    }
+
+    /**
+     * Takes a snapshot of the brain first, so it must not be called concurrently with training of the brain
+     */
+    public static EvaluationReport evaluate(Brain brain, TestExample[] testExamples) {
+        return evaluate(BrainSnapshot.of(brain), testExamples, DEFAULT_BATCH_SIZE);
+    }
+
+    public static EvaluationReport evaluate(BrainSnapshot snapshot, TestExample[] testExamples, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(STR."Expected 'batchSize' to be positive\nActual: \{batchSize}");
+        }
+
+        long start = System.nanoTime();
+        int classes = snapshot.outputSize();
+        int batches = (testExamples.length + batchSize - 1) / batchSize;
+
+        var result = IntStream.range(0, batches)
+                .parallel()
+                .mapToObj(b -> evaluateBatch(snapshot, testExamples, b * batchSize, Math.min((b + 1) * batchSize, testExamples.length), classes))
+                .reduce(Batch::merge)
+                .orElseGet(() -> new Batch(new int[classes][classes], 0.0));
+
+        float loss = (float) (result.loss() / Math.max(1, testExamples.length));
+        return new EvaluationReport(result.confusionMatrix(), loss, System.nanoTime() - start);
+    }
+
+    private static Batch evaluateBatch(BrainSnapshot snapshot, TestExample[] testExamples, int from, int to, int classes) {
+        var confusionMatrix = new int[classes][classes];
+        double loss = 0.0;
+
+        for (int n = from; n < to; n++) {
+            var testExample = testExamples[n];
+            var output = snapshot.predict(testExample.input());
+            confusionMatrix[testExample.label()][output.argmax()]++;
+            var target = output.withEach(i -> (i == testExample.label()) ? 1.0f : 0.0f);
+            loss += snapshot.getLossFunction().loss(output, target);
+        }
+
+        return new Batch(confusionMatrix, loss);
+    }
+
+    private record Batch(int[][] confusionMatrix, double loss) {
+
+        Batch merge(Batch other) {
+            for (int i = 0; i < confusionMatrix.length; i++) {
+                for (int j = 0; j < confusionMatrix.length; j++) {
+                    confusionMatrix[i][j] += other.confusionMatrix[i][j];
+                }
+            }
+
+            return new Batch(confusionMatrix, loss + other.loss);
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package brain.domain;
+
+import brain.math.Vector;
+import brain.misc.MiniBatch;
+import brain.misc.TrainingExample;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A small brain behind a {@link HashGridEncoding}, trained together: the gradient of the loss with respect to the
+ * input of the brain is passed back into the features of the encoding<br>
+ * The encoding stores most of the detail, so the brain can be much smaller than with a Fourier series input
+ * (e.g. one hidden layer of 16 neurons instead of 32, 128, 32) and every example costs a fraction of the compute.
+ *
+ * @since 19.10.2026, Mo.
+ */
+@Getter
+public class HashGridBrain implements Predictor {
+
+    private final HashGridEncoding encoding;
+
+    private final Brain brain;
+
+    /**
+     * Learning rate of the features, usually much higher than the one of the brain because every feature only
+     * receives the gradients of the few examples around its vertex
+     */
+    @Setter
+    private float encodingLearningRate;
+
+    public HashGridBrain(HashGridEncoding encoding, Brain brain, float encodingLearningRate) {
+        if (brain.getInputLayer().size() != encoding.outputSize()) {
+            throw new IllegalArgumentException(STR."Expected the input size of the brain to be: \{encoding.outputSize()}\nActual: \{brain.getInputLayer().size()}");
+        }
+
+        this.encoding = encoding;
+        this.brain = brain;
+        this.encodingLearningRate = encodingLearningRate;
+    }
+
+    /**
+     * @param input x and y in [0, 1]
+     */
+    @Override
+    public Vector predict(Vector input) {
+        return brain.predict(encode(input));
+    }
+
+    /**
+     * @param trainingExamples inputs x and y in [0, 1]
+     * @return mean loss of the examples, each measured right before the step of its mini-batch
+     */
+    public float train(TrainingExample[] trainingExamples) {
+        var miniBatches = MiniBatch.shuffleAndChop(brain.getMiniBatchSize(), trainingExamples);
+        var inputGradients = new Vector[brain.getMiniBatchSize()];
+        double loss = 0.0;
+
+        for (MiniBatch miniBatch : miniBatches) {
+            var encoded = new TrainingExample[miniBatch.size()];
+
+            for (int k = 0; k < miniBatch.size(); k++) {
+                var trainingExample = miniBatch.getExample(k);
+                encoded[k] = new TrainingExample(encode(trainingExample.input()), trainingExample.target());
+            }
+
+            loss += brain.computeGradients(new MiniBatch(encoded), null, null, inputGradients);
+
+            for (int k = 0; k < miniBatch.size(); k++) {
+                encoding.accumulate(miniBatch.getExample(k).input(), inputGradients[k]);
+            }
+
+            brain.step(-brain.getLearningRate() / miniBatch.size());
+            encoding.step(-encodingLearningRate / miniBatch.size());
+        }
+
+        return (float) (loss / Math.max(1, trainingExamples.length));
+    }
+
+    public int totalSize() {
+        return encoding.totalSize() + brain.totalSize();
+    }
+
+    private Vector encode(Vector input) {
+        float[] features = encoding.encode(input);
+        var vector = brain.getVectorConstructor().apply(features.length);
+
+        for (int i = 0; i < features.length; i++) {
+            vector.set(i, features[i]);
+        }
+
+        return vector;
+    }
+
+}
@@ -0,0 +1,222 @@
+package brain.domain;
+
+import brain.math.Randoms;
+import brain.math.Vector;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Trainable multiresolution hash-grid encoding of 2D coordinates (Müller et al., Instant Neural Graphics Primitives)<br>
+ * Every level is a grid whose resolution grows geometrically from the coarsest to the finest level. The vertices of
+ * a grid map to feature vectors in a table of that level: directly while the grid fits into the table, through a
+ * spatial hash otherwise (colliding vertices share their features). The encoding of a point concatenates the
+ * bilinear interpolation of the features of the 4 surrounding vertices of every level.
+ * <p>
+ * The features are trained together with the brain behind the encoding, see {@link HashGridBrain}.
+ * Gradients are accumulated sparsely: only the vertices touched by the mini-batch are updated and cleared.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class HashGridEncoding {
+
+    private static final int PRIME = (int) 2654435761L;
+
+    @Getter
+    private final int levels;
+
+    @Getter
+    private final int features;
+
+    private final int[] resolutions;
+
+    /**
+     * Amount of vertices in the table of every level, a power of two for hashed levels
+     */
+    private final int[] tableSizes;
+
+    private final boolean[] hashed;
+
+    /**
+     * Index of the first vertex of every level in {@link #table}
+     */
+    private final int[] offsets;
+
+    /**
+     * Features of all vertices of all levels, vertex v has the features [v * features, (v + 1) * features)
+     */
+    private final float[] table;
+
+    private final float[] gradient;
+
+    private final boolean[] touched;
+
+    private int[] touchedVertices = new int[64];
+
+    private int touchedCount;
+
+    /**
+     * @param levels        amount of grids
+     * @param features      features per vertex (the encoding has levels * features values)
+     * @param log2TableSize maximum amount of vertices per level = 2^log2TableSize
+     * @param minResolution cells per side of the coarsest grid
+     * @param maxResolution cells per side of the finest grid
+     */
+    public HashGridEncoding(int levels, int features, int log2TableSize, int minResolution, int maxResolution) {
+        this(levels, features, log2TableSize, minResolution, maxResolution, Randoms.split());
+    }
+
+    public HashGridEncoding(int levels,
+                            int features,
+                            int log2TableSize,
+                            int minResolution,
+                            int maxResolution,
+                            SplittableRandom random) {
+        if (levels < 1 || features < 1 || log2TableSize < 1 || log2TableSize > 24 || minResolution < 1 || maxResolution < minResolution) {
+            throw new IllegalArgumentException(STR."Invalid hash grid: \{levels} levels, \{features} features, 2^\{log2TableSize} vertices, resolution \{minResolution} to \{maxResolution}");
+        }
+
+        this.levels = levels;
+        this.features = features;
+        this.resolutions = new int[levels];
+        this.tableSizes = new int[levels];
+        this.hashed = new boolean[levels];
+        this.offsets = new int[levels];
+        double growth = levels == 1 ? 1.0 : Math.exp((Math.log(maxResolution) - Math.log(minResolution)) / (levels - 1));
+        int vertices = 0;
+
+        for (int l = 0; l < levels; l++) {
+            resolutions[l] = (int) Math.floor(minResolution * Math.pow(growth, l) + 1e-6);
+            long gridVertices = (long) (resolutions[l] + 1) * (resolutions[l] + 1);
+            hashed[l] = gridVertices > 1L << log2TableSize;
+            tableSizes[l] = hashed[l] ? 1 << log2TableSize : (int) gridVertices;
+            offsets[l] = vertices;
+            vertices += tableSizes[l];
+        }
+
+        this.table = new float[vertices * features];
+        this.gradient = new float[table.length];
+        this.touched = new boolean[vertices];
+
+        // Small initial features, so the brain starts almost independent of the input
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (float) random.nextDouble(-1e-4, 1e-4);
+        }
+    }
+
+    /**
+     * @return size of the encoding, the size of the input layer of the brain behind it
+     */
+    public int outputSize() {
+        return levels * features;
+    }
+
+    public int totalSize() {
+        return table.length;
+    }
+
+    /**
+     * @param input x and y in [0, 1] (clamped)
+     */
+    public float[] encode(Vector input) {
+        float[] output = new float[outputSize()];
+        encode(input.get(0), input.get(1), output);
+        return output;
+    }
+
+    public void encode(float x, float y, float[] output) {
+        Arrays.fill(output, 0.0f);
+        forEachCorner(x, y, (l, vertex, weight) -> {
+            int from = vertex * features;
+
+            for (int f = 0; f < features; f++) {
+                output[l * features + f] += weight * table[from + f];
+            }
+        });
+    }
+
+    /**
+     * Adds the gradient of the features touched by the input, distributed with the interpolation weights
+     *
+     * @param outputGradient gradient of the loss with respect to {@link #encode(Vector)}
+     */
+    public void accumulate(Vector input, Vector outputGradient) {
+        forEachCorner(input.get(0), input.get(1), (l, vertex, weight) -> {
+            int from = vertex * features;
+
+            for (int f = 0; f < features; f++) {
+                gradient[from + f] += weight * outputGradient.get(l * features + f);
+            }
+
+            if (!touched[vertex]) {
+                touched[vertex] = true;
+
+                if (touchedCount == touchedVertices.length) {
+                    touchedVertices = Arrays.copyOf(touchedVertices, touchedCount * 2);
+                }
+
+                touchedVertices[touchedCount++] = vertex;
+            }
+        });
+    }
+
+    /**
+     * Adds the accumulated gradient multiplied by factor to the features and clears it
+     */
+    public void step(float factor) {
+        for (int t = 0; t < touchedCount; t++) {
+            int vertex = touchedVertices[t];
+            int from = vertex * features;
+
+            for (int f = from; f < from + features; f++) {
+                table[f] += factor * gradient[f];
+                gradient[f] = 0.0f;
+            }
+
+            touched[vertex] = false;
+        }
+
+        touchedCount = 0;
+    }
+
+    float[] getTable() {
+        return table;
+    }
+
+    @FunctionalInterface
+    private interface CornerConsumer {
+
+        void accept(int level, int vertex, float weight);
+
+    }
+
+    private void forEachCorner(float x, float y, CornerConsumer consumer) {
+        x = Math.clamp(x, 0.0f, 1.0f);
+        y = Math.clamp(y, 0.0f, 1.0f);
+
+        for (int l = 0; l < levels; l++) {
+            int resolution = resolutions[l];
+            float px = x * resolution;
+            float py = y * resolution;
+            // The last cell also contains the border at 1
+            int ix = Math.min((int) px, resolution - 1);
+            int iy = Math.min((int) py, resolution - 1);
+            float fx = px - ix;
+            float fy = py - iy;
+
+            consumer.accept(l, vertex(l, ix, iy), (1 - fx) * (1 - fy));
+            consumer.accept(l, vertex(l, ix + 1, iy), fx * (1 - fy));
+            consumer.accept(l, vertex(l, ix, iy + 1), (1 - fx) * fy);
+            consumer.accept(l, vertex(l, ix + 1, iy + 1), fx * fy);
+        }
+    }
+
+    private int vertex(int l, int ix, int iy) {
+        int index = hashed[l]
+                ? (ix ^ iy * PRIME) & tableSizes[l] - 1
+                : iy * (resolutions[l] + 1) + ix;
+        return offsets[l] + index;
+    }
+
+}
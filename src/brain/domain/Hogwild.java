@@ -0,0 +1,244 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuVector;
+import brain.math.LossFunction;
+import brain.misc.MiniBatch;
+import brain.misc.TrainingExample;
+import brain.misc.TrainingStatistics;
+import brain.misc.WeightBias;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lock-free asynchronous SGD (<a href="https://arxiv.org/abs/1106.5730">Hogwild!</a>)<br>
+ * All weights and biases are copied into one flat float array that every thread reads and updates without any
+ * synchronization. Updates of different threads may overwrite each other (plain racy writes), which Hogwild
+ * tolerates because a single example only touches a small part of the gradient in practice.
+ * Each thread has its own scratch arrays for the activations and errors, the layers of the brain are not used
+ * during training. The weights are copied back once all threads are done.
+ *
+ * @since 19.10.2026, Mo.
+ */
+class Hogwild {
+
+    private final Brain brain;
+
+    private final int[] sizes;
+
+    private final ActivationFunction[] activationFunctions;
+
+    private final LossFunction lossFunction;
+
+    /**
+     * weightOffsets[l] / biasOffsets[l] is the position of the weights / biases of layer l in {@link #parameters}
+     */
+    private final int[] weightOffsets;
+
+    private final int[] biasOffsets;
+
+    private final float[] parameters;
+
+    /**
+     * Frozen layers of the brain are neither updated nor backpropagated through, see {@link Brain#setTrainable(int, boolean)}
+     */
+    private final boolean[] trainable;
+
+    /**
+     * Lowest layer whose errors are computed
+     */
+    private final int bottom;
+
+    Hogwild(Brain brain) {
+        this.brain = brain;
+        this.sizes = new int[brain.size()];
+        this.activationFunctions = new ActivationFunction[brain.size()];
+        this.lossFunction = brain.getLossFunction();
+        this.weightOffsets = new int[brain.size()];
+        this.biasOffsets = new int[brain.size()];
+        this.trainable = new boolean[brain.size()];
+        this.bottom = brain.lowestTrainableLayer();
+        int offset = 0;
+
+        for (int l = 0; l < brain.size(); l++) {
+            sizes[l] = brain.getLayer(l).size();
+            activationFunctions[l] = brain.getLayer(l).getActivationFunction();
+
+            if (l > 0) {
+                trainable[l] = brain.isTrainable(l);
+                weightOffsets[l] = offset;
+                offset += sizes[l] * sizes[l - 1];
+                biasOffsets[l] = offset;
+                offset += sizes[l];
+            }
+        }
+
+        this.parameters = new float[offset];
+        copyFromBrain();
+    }
+
+    /**
+     * @param learningRate step size of every single example
+     */
+    TrainingStatistics train(TrainingExample[] trainingExamples, int threads, float learningRate) {
+        var examples = MiniBatch.shuffle(trainingExamples);
+        long start = System.nanoTime();
+        var futures = new ArrayList<Future<Double>>(threads);
+
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int from = (int) ((long) examples.length * t / threads);
+                int to = (int) ((long) examples.length * (t + 1) / threads);
+                futures.add(executor.submit(() -> new Workspace().train(examples, from, to, learningRate)));
+            }
+
+            double loss = 0.0;
+
+            for (Future<Double> future : futures) {
+                loss += future.get();
+            }
+
+            copyToBrain();
+            return new TrainingStatistics(examples.length, System.nanoTime() - start, (float) (loss / Math.max(1, examples.length)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hogwild training was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Hogwild training failed", e.getCause());
+        }
+    }
+
+    /**
+     * The layout of {@link #parameters} is the one of {@link WeightBias#writeTo(float[], int)}, layer after layer
+     */
+    private void copyFromBrain() {
+        for (int l = 1; l < sizes.length; l++) {
+            brain.getLayer(l).getWeightBias().writeTo(parameters, weightOffsets[l]);
+        }
+    }
+
+    /**
+     * Goes through {@link WeightBias#readFrom(float[], int)}, which densifies the weights of a pruned brain
+     * ({@link Pruner#sparsify(Brain)}) before setting them. Frozen layers have not changed and keep their storage.
+     */
+    private void copyToBrain() {
+        for (int l = 1; l < sizes.length; l++) {
+            if (trainable[l]) {
+                brain.getLayer(l).getWeightBias().readFrom(parameters, weightOffsets[l]);
+            }
+        }
+
+        brain.weightsChanged();
+    }
+
+    /**
+     * Per-thread scratch memory, allocated once per thread
+     */
+    private class Workspace {
+
+        private final float[][] activations = new float[sizes.length][];
+
+        private final float[][] errors = new float[sizes.length][];
+
+        Workspace() {
+            for (int l = 0; l < sizes.length; l++) {
+                activations[l] = new float[sizes[l]];
+                errors[l] = new float[sizes[l]];
+            }
+        }
+
+        /**
+         * @return summed loss of the examples before their update
+         */
+        double train(TrainingExample[] examples, int from, int to, float learningRate) {
+            double loss = 0.0;
+
+            for (int n = from; n < to; n++) {
+                loss += feedforward(examples[n]);
+                backpropagate(learningRate);
+            }
+
+            return loss;
+        }
+
+        private double feedforward(TrainingExample example) {
+            for (int i = 0; i < sizes[0]; i++) {
+                activations[0][i] = activationFunctions[0].apply(example.input().get(i));
+            }
+
+            for (int l = 1; l < sizes.length; l++) {
+                int inputs = sizes[l - 1];
+
+                for (int j = 0; j < sizes[l]; j++) {
+                    int row = weightOffsets[l] + j * inputs;
+                    float z = parameters[biasOffsets[l] + j];
+
+                    for (int i = 0; i < inputs; i++) {
+                        z += parameters[row + i] * activations[l - 1][i];
+                    }
+
+                    activations[l][j] = activationFunctions[l].apply(z);
+                }
+            }
+
+            int out = sizes.length - 1;
+            // Wraps the array without copying it, only softmax creates a new vector
+            var output = lossFunction.output(CpuVector.of(activations[out]));
+
+            for (int j = 0; j < sizes[out]; j++) {
+                errors[out][j] = output.get(j) - example.target().get(j);  // See LossFunction.gradient
+            }
+
+            return lossFunction.loss(output, example.target());
+        }
+
+        /**
+         * Computes the error of layer l - 1 before updating the weights of layer l, then writes the update directly
+         */
+        private void backpropagate(float learningRate) {
+            for (int l = sizes.length - 1; l >= bottom; l--) {
+                int inputs = sizes[l - 1];
+
+                // Fused losses already are the gradient with respect to the linear activations
+                if (l < sizes.length - 1 || !lossFunction.isFused()) {
+                    for (int j = 0; j < sizes[l]; j++) {
+                        errors[l][j] *= activationFunctions[l].applyDerivativeFromActivation(activations[l][j]);  // nabla of bias j
+                    }
+                }
+
+                if (l > bottom) {
+                    for (int i = 0; i < inputs; i++) {
+                        float error = 0.0f;
+
+                        for (int j = 0; j < sizes[l]; j++) {
+                            error += parameters[weightOffsets[l] + j * inputs + i] * errors[l][j];
+                        }
+
+                        errors[l - 1][i] = error;
+                    }
+                }
+
+                for (int j = 0; j < sizes[l] && trainable[l]; j++) {
+                    float step = learningRate * errors[l][j];
+
+                    if (step == 0.0f) {
+                        continue;
+                    }
+
+                    int row = weightOffsets[l] + j * inputs;
+
+                    for (int i = 0; i < inputs; i++) {
+                        parameters[row + i] -= step * activations[l - 1][i];
+                    }
+
+                    parameters[biasOffsets[l] + j] -= step;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+package brain.domain;
+
+import brain.math.Randoms;
+import brain.misc.MiniBatch;
+import brain.misc.SumTree;
+import brain.misc.TrainingExample;
+import lombok.Getter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Trains a brain on mini-batches that are sampled proportional to the last known loss of every example,
+ * so the compute goes to the examples (e.g. pixels at edges) that are not fitted yet<br>
+ * The loss estimates come for free from training: every sampled example stores the loss of its forward pass.
+ * Examples that are rarely sampled would keep an outdated estimate forever, so every {@link #getRefreshInterval()}
+ * mini-batches the next {@link #getRefreshSize()} stale examples are re-evaluated (forward pass only, round-robin).
+ * <p>
+ * The priority of an example is (loss + epsilon)^alpha, epsilon keeps every example reachable.
+ * With beta > 0 the gradients are weighted by (n * probability)^-beta, beta = 1 removes the bias of the sampling
+ * (the expected gradient is the one of uniform sampling).
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class ImportanceSampler {
+
+    private final Brain brain;
+
+    private final TrainingExample[] trainingExamples;
+
+    private final SumTree priorities;
+
+    /**
+     * Last known loss of every example
+     */
+    private final float[] losses;
+
+    /**
+     * Mini-batch in which the loss of every example was last computed
+     */
+    private final long[] updated;
+
+    private final float alpha;
+
+    private final float beta;
+
+    private final float epsilon;
+
+    @Getter
+    private int refreshInterval = 10;
+
+    @Getter
+    private int refreshSize = 64;
+
+    @Getter
+    private long miniBatches;
+
+    private int refreshCursor;
+
+    /**
+     * Computes the initial loss estimates with one forward pass over all examples
+     *
+     * @param alpha   0 = uniform sampling, 1 = proportional to the loss
+     * @param beta    strength of the bias correction in [0, 1]
+     * @param epsilon added to every loss before the exponent
+     */
+    public ImportanceSampler(Brain brain, TrainingExample[] trainingExamples, float alpha, float beta, float epsilon) {
+        if (trainingExamples.length == 0) {
+            throw new IllegalArgumentException("Expected at least one training example");
+        }
+
+        if (epsilon <= 0.0f) {
+            throw new IllegalArgumentException(STR."Expected 'epsilon' to be positive\nActual: \{epsilon}");
+        }
+
+        this.brain = brain;
+        this.trainingExamples = trainingExamples;
+        this.priorities = new SumTree(trainingExamples.length);
+        this.losses = new float[trainingExamples.length];
+        this.updated = new long[trainingExamples.length];
+        this.alpha = alpha;
+        this.beta = beta;
+        this.epsilon = epsilon;
+
+        for (int i = 0; i < trainingExamples.length; i++) {
+            update(i, loss(trainingExamples[i]));
+        }
+    }
+
+    public ImportanceSampler(Brain brain, TrainingExample[] trainingExamples) {
+        this(brain, trainingExamples, 1.0f, 0.0f, 1e-3f);
+    }
+
+    /**
+     * @param refreshInterval mini-batches between two refreshes, at least 1
+     */
+    public void setRefreshInterval(int refreshInterval) {
+        if (refreshInterval < 1) {
+            throw new IllegalArgumentException(STR."Expected 'refreshInterval' to be at least 1\nActual: \{refreshInterval}");
+        }
+
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * @param refreshSize examples that are re-evaluated per refresh, 0 disables the refreshes
+     */
+    public void setRefreshSize(int refreshSize) {
+        if (refreshSize < 0) {
+            throw new IllegalArgumentException(STR."Expected 'refreshSize' to be non-negative\nActual: \{refreshSize}");
+        }
+
+        this.refreshSize = refreshSize;
+    }
+
+    /**
+     * Trains as many examples as one epoch of {@link Brain#train(TrainingExample[])}, but sampled by loss
+     *
+     * @return mean loss of the sampled examples (before their steps)
+     */
+    public float epoch() {
+        return train(Math.ceilDiv(trainingExamples.length, brain.getMiniBatchSize()));
+    }
+
+    /**
+     * @param miniBatches amount of mini-batches of {@link Brain#getMiniBatchSize()} sampled examples
+     * @return mean loss of the sampled examples (before their steps)
+     */
+    public float train(int miniBatches) {
+        brain.useTrainingSet(trainingExamples);
+        RandomGenerator random = Randoms.current();
+        int size = brain.getMiniBatchSize();
+        int[] indices = new int[size];
+        var examples = new TrainingExample[size];
+        float[] weights = new float[size];
+        float[] batchLosses = new float[size];
+        double loss = 0.0;
+
+        for (int b = 0; b < miniBatches; b++) {
+            sample(random, indices, weights);
+
+            for (int k = 0; k < size; k++) {
+                examples[k] = trainingExamples[indices[k]];
+            }
+
+            loss += brain.computeGradients(new MiniBatch(examples), beta == 0.0f ? null : weights, batchLosses);
+            brain.step(-brain.getLearningRate() / size);
+            this.miniBatches++;
+
+            for (int k = 0; k < size; k++) {
+                update(indices[k], batchLosses[k]);
+            }
+
+            if (this.miniBatches % refreshInterval == 0) {
+                refresh();
+            }
+        }
+
+        return (float) (loss / Math.max(1, (long) miniBatches * size));
+    }
+
+    public float getEstimatedLoss(int i) {
+        return losses[i];
+    }
+
+    /**
+     * @return probability of example i to be drawn by one sample
+     */
+    public double getProbability(int i) {
+        return priorities.get(i) / priorities.total();
+    }
+
+    /**
+     * Stratified sampling: the total priority is split into one stratum per example of the mini-batch,
+     * which spreads the samples more evenly than independent draws
+     *
+     * @param weights receives the bias correction weights, normalized to a maximum of 1
+     */
+    private void sample(RandomGenerator random, int[] indices, float[] weights) {
+        double total = priorities.total();
+        double stratum = total / indices.length;
+        float maxWeight = 0.0f;
+
+        for (int k = 0; k < indices.length; k++) {
+            indices[k] = priorities.find((k + random.nextDouble()) * stratum);
+
+            if (beta != 0.0f) {
+                double probability = priorities.get(indices[k]) / total;
+                weights[k] = (float) Math.pow(trainingExamples.length * probability, -beta);
+                maxWeight = Math.max(maxWeight, weights[k]);
+            }
+        }
+
+        for (int k = 0; maxWeight > 0.0f && k < weights.length; k++) {
+            weights[k] /= maxWeight;
+        }
+    }
+
+    /**
+     * Re-evaluates the next examples whose estimate is older than {@link #getRefreshInterval()} mini-batches
+     */
+    private void refresh() {
+        int refreshed = 0;
+
+        for (int visited = 0; visited < trainingExamples.length && refreshed < refreshSize; visited++) {
+            int i = refreshCursor;
+            refreshCursor = (refreshCursor + 1) % trainingExamples.length;
+
+            if (miniBatches - updated[i] >= refreshInterval) {
+                update(i, loss(trainingExamples[i]));
+                refreshed++;
+            }
+        }
+    }
+
+    private float loss(TrainingExample trainingExample) {
+        return brain.getLossFunction().loss(brain.predict(trainingExample.input()), trainingExample.target());
+    }
+
+    /**
+     * A non-finite loss (e.g. of an example with a NaN target) keeps the previous estimate, 0 before the first one
+     */
+    private void update(int i, float loss) {
+        if (Float.isFinite(loss)) {
+            losses[i] = loss;
+        }
+
+        updated[i] = miniBatches;
+        priorities.set(i, Math.pow(losses[i] + epsilon, alpha));
+    }
+
+}
@@ -2,10 +2,13 @@ package brain.domain;
 
 import brain.math.*;
 import brain.misc.LayerDefinition;
+import brain.misc.SourceLanguage;
 import brain.misc.WeightBias;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.SplittableRandom;
 import java.util.StringJoiner;
 import java.util.function.BiFunction;
 import java.util.function.IntFunction;
@@ -50,10 +53,23 @@ public class Layer {
                  float maxExcl,
                  IntFunction<Vector> vectorConstructor,
                  BiFunction<Integer, Integer, Matrix> matrixConstructor) {
+        this(layerDefinition, previousLayerSize, min, maxExcl, vectorConstructor, matrixConstructor, Randoms.split());
+    }
+
+    /**
+     * @param random generator for the initial weights and biases, the result only depends on it
+     */
+    public Layer(LayerDefinition layerDefinition,
+                 int previousLayerSize,
+                 float min,
+                 float maxExcl,
+                 IntFunction<Vector> vectorConstructor,
+                 BiFunction<Integer, Integer, Matrix> matrixConstructor,
+                 SplittableRandom random) {
         this(
                 new WeightBias(
-                        matrixConstructor.apply(previousLayerSize, layerDefinition.size()).fillWithRandomValues(min, maxExcl),
-                        vectorConstructor.apply(layerDefinition.size()).fillWithRandomValues(min, maxExcl)
+                        matrixConstructor.apply(previousLayerSize, layerDefinition.size()).fillWithRandomValues(min, maxExcl, random.split()),
+                        vectorConstructor.apply(layerDefinition.size()).fillWithRandomValues(min, maxExcl, random.split())
                 ),
                 layerDefinition.activationFunction(),
                 vectorConstructor
@@ -89,20 +105,98 @@ public class Layer {
         weightBias.sub(delta);
     }
 
+    public void addScaled(WeightBias delta, float factor) {
+        weightBias.addScaled(delta, factor);
+    }
+
+    /**
+     * Writes directly into the activation vectors of next, no temporaries are allocated
+     */
     public void feedforward(Layer next) {
-        next.activate(next.weightBias.apply(activations));
+        next.weightBias.getWeights().mult(activations, next.activationsLinear);
+        next.activationsLinear.addScaled(next.getBiases(), 1.0f);
+        next.activationsLinear.apply(next.activationFunction, next.activations);
+    }
+
+    /**
+     * Batched version of {@link #feedforward(Layer)} into this layer, e.g. for a whole mini-batch<br>
+     * Does not touch the activation vectors of the layers
+     *
+     * @param activations activations of the previous layer, one column per example
+     * @return activations of this layer, one column per example
+     */
+    public Matrix feedforward(Matrix activations) {
+        var linear = getWeights().mult(activations);
+        var biases = getBiases();
+
+        return linear.withEachRow(j -> {
+            var row = linear.getRow(j);  // linear is a temporary, so its rows are reused
+            float bias = biases.get(j);
+
+            for (int b = 0; b < row.size(); b++) {
+                row.set(b, activationFunction.apply(row.get(b) + bias));
+            }
+
+            return row;
+        });
     }
 
     public void activate(Vector activationsLinear) {
         setActivationsLinear(activationsLinear);
-        setActivations(activationsLinear.map(activationFunction::apply));
+        this.activationsLinear.apply(activationFunction, activations);
     }
 
-    public Vector getNablaBiases(Vector deltas, ActivationFunction activationFunction) {
-        return activationsLinear.withEach(i -> {
-            float z = activationsLinear.get(i);
-            float do_dz = activationFunction.applyDerivative(z);
-            return do_dz * deltas.get(i);
+    /**
+     * Sets the activations of a previous prediction (e.g. a cached one), the linear activations are left untouched
+     */
+    void restore(Vector activations) {
+        setActivations(activations);
+    }
+
+    /**
+     * Uses the derivative of this layer's activation function at the activations of the previous prediction,
+     * see {@link ActivationFunction#applyDerivativeFromActivation(float)}
+     *
+     * @param deltas derivative of the cost with respect to the activations of this layer
+     */
+    public Vector getNablaBiases(Vector deltas) {
+        return activations.withEach(i -> activationFunction.applyDerivativeFromActivation(activations.get(i)) * deltas.get(i));
+    }
+
+    /**
+     * In-place version of {@link #getNablaBiases(Vector)}, e.g. into a buffer of a {@link BufferPool}
+     *
+     * @param result vector of this layer's size, may be deltas
+     * @return result
+     */
+    public Vector getNablaBiases(Vector deltas, Vector result) {
+        for (int i = 0; i < size(); i++) {
+            result.set(i, activationFunction.applyDerivativeFromActivation(activations.get(i)) * deltas.get(i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Batched version of {@link #getNablaBiases(Vector)} with explicit activations of this layer
+     *
+     * @param activations activations of this layer, one column per example
+     * @param deltas      derivatives of the cost with respect to the activations, overwritten with the result
+     * @return nabla of the biases, one column per example
+     */
+    public Matrix getNablaBiases(Matrix activations, Matrix deltas) {
+        return deltas.withEachRow(j -> {
+            var row = deltas.getRow(j);
+            var rowActivations = activations.getRow(j);
+
+            for (int b = 0; b < row.size(); b++) {
+                float nablaBias = activationFunction.applyDerivativeFromActivation(rowActivations.get(b)) * row.get(b);
+                // Subnormal values (e.g. behind a saturated sigmoid) do not change a float gradient,
+                // but as operands of the vectorized matrix products they are many times slower
+                row.set(b, (Math.abs(nablaBias) < Float.MIN_NORMAL) ? 0.0f : nablaBias);
+            }
+
+            return row;
         });
     }
 
@@ -120,11 +214,11 @@ public class Layer {
     }
 
     private void setActivationsLinear(Vector activationsLinear) {
-        activationsLinear.setAll(activationsLinear);
+        this.activationsLinear.setAll(activationsLinear);
     }
 
     private void setActivations(Vector activations) {
-        activations.setAll(activations);
+        this.activations.setAll(activations);
     }
 
     /**
@@ -132,7 +226,128 @@ public class Layer {
      * @return C-style code that will calculate the activations of this layer as single float values
      */
     public String generateSourceCode(int i) {
-        throw new UnsupportedOperationException("Not implemented yet");
+        return generateSourceCode(i, SourceLanguage.GLSL);
+    }
+
+    /**
+     * Fully unrolled, every weight and bias is inlined as a literal and terms with a zero weight are dropped.
+     * Neurons without any remaining terms are folded into a single constant.
+     *
+     * @param i index of this layer in the domain so that the variables can be properly named
+     * @return code that will calculate the activations of this layer
+     */
+    public String generateSourceCode(int i, SourceLanguage language) {
+        return generateSourceCode(i, language, 0, size());
+    }
+
+    /**
+     * Same as {@link #generateSourceCode(int, SourceLanguage)} for the neurons from (inclusive) to to (exclusive)
+     */
+    String generateSourceCode(int i, SourceLanguage language, int from, int to) {
+        var sb = new StringBuilder();
+        String indentation = language.indentation();
+
+        for (int j = from; j < to; j++) {
+            sb.append(indentation);
+
+            if (weightBias == null) {
+                sb.append(language.assignActivation(i, j, language.apply(activationFunction, language.input(j))));
+                sb.append('\n');
+                continue;
+            }
+
+            String linear = linearSourceCode(i, j, language);
+
+            if (linear == null) {
+                float constant = activationFunction.apply(getBiases().get(j));
+                sb.append(language.assignActivation(i, j, language.literal(constant)));
+            } else if (activationFunction == ActivationFunction.LINEAR) {
+                sb.append(language.assignActivation(i, j, linear));
+            } else {
+                String z = STR."z\{i}_\{j}";
+                sb.append(language.declare(z, linear)).append('\n').append(indentation);
+                sb.append(language.assignActivation(i, j, language.apply(activationFunction, z)));
+            }
+
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Splits the neurons into consecutive chunks of at most maxTerms generated terms (weights that are not zero plus
+     * the bias), a single neuron with more terms gets a chunk of its own
+     *
+     * @return boundaries of the chunks, chunk c contains the neurons from [c] (inclusive) to [c + 1] (exclusive)
+     */
+    int[] sourceCodeChunks(int maxTerms) {
+        var boundaries = new ArrayList<Integer>();
+        boundaries.add(0);
+        int terms = 0;
+
+        for (int j = 0; j < size(); j++) {
+            int neuronTerms = 1;
+
+            if (weightBias != null) {
+                var row = getWeights().getRow(j);
+
+                for (int k = 0; k < row.size(); k++) {
+                    if (row.get(k) != 0.0f) neuronTerms++;
+                }
+            }
+
+            if (terms > 0 && terms + neuronTerms > maxTerms) {
+                boundaries.add(j);
+                terms = 0;
+            }
+
+            terms += neuronTerms;
+        }
+
+        boundaries.add(size());
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return b_j + W_j0 * a_0 + W_j1 * a_1 + ... without the zero weights, null if all weights are zero
+     */
+    private String linearSourceCode(int i, int j, SourceLanguage language) {
+        var sb = new StringBuilder();
+        var row = getWeights().getRow(j);
+        float bias = getBiases().get(j);
+
+        for (int k = 0; k < row.size(); k++) {
+            float w = row.get(k);
+
+            if (w == 0.0f) {
+                continue;
+            }
+
+            if (!sb.isEmpty()) {
+                sb.append((w < 0) ? " - " : " + ");
+            } else if (w < 0) {
+                sb.append('-');
+            }
+
+            float abs = Math.abs(w);
+
+            if (abs != 1.0f) {
+                sb.append(language.literal(abs)).append(" * ");
+            }
+
+            sb.append(language.activation(i - 1, k));
+        }
+
+        if (sb.isEmpty()) {
+            return null;
+        }
+
+        if (bias != 0.0f) {
+            sb.append((bias < 0) ? " - " : " + ").append(language.literal(Math.abs(bias)));
+        }
+
+        return sb.toString();
     }
 
     @Override
@@ -0,0 +1,138 @@
+package brain.domain;
+
+import brain.math.Vector;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache in front of {@link Brain#predict(Vector)}<br>
+ * Inputs are compared element-wise, optionally after rounding every element to a multiple of
+ * {@link #quantizationStep} so that nearly identical inputs share one entry.
+ * The whole cache is dropped as soon as the {@link Brain#getVersion() version} of the brain changes.
+ *
+ * @since 19.10.2026, Mo.
+ */
+@Getter
+public class PredictionCache implements Predictor {
+
+    private final Brain brain;
+
+    private final int maxSize;
+
+    /**
+     * 0 means exact matches only
+     */
+    private final float quantizationStep;
+
+    @Getter(AccessLevel.NONE)
+    private final LinkedHashMap<Key, Vector> entries;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long invalidations;
+
+    private long cachedVersion;
+
+    public PredictionCache(Brain brain, int maxSize) {
+        this(brain, maxSize, 0.0f);
+    }
+
+    public PredictionCache(Brain brain, int maxSize, float quantizationStep) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(STR."Expected 'maxSize' to be positive\nActual: \{maxSize}");
+        }
+
+        if (quantizationStep < 0.0f) {
+            throw new IllegalArgumentException(STR."Expected 'quantizationStep' to be >= 0\nActual: \{quantizationStep}");
+        }
+
+        this.brain = brain;
+        this.maxSize = maxSize;
+        this.quantizationStep = quantizationStep;
+        this.cachedVersion = brain.getVersion();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Vector> eldest) {
+                if (size() > PredictionCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cached output, which must not be modified
+     */
+    @Override
+    public synchronized Vector predict(Vector input) {
+        if (cachedVersion != brain.getVersion()) {
+            invalidate();
+        }
+
+        var key = key(input);
+        var output = entries.get(key);
+
+        if (output != null) {
+            hits++;
+            return output;
+        }
+
+        misses++;
+        // Brain.predict() returns the activations of its output layer, which change with the next prediction
+        output = brain.predict(input).copy();
+        entries.put(key, output);
+        return output;
+    }
+
+    public synchronized void invalidate() {
+        entries.clear();
+        cachedVersion = brain.getVersion();
+        invalidations++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized float hitRate() {
+        long requests = hits + misses;
+        return (requests == 0) ? 0.0f : (float) hits / requests;
+    }
+
+    private Key key(Vector input) {
+        var bits = new int[input.size()];
+
+        for (int i = 0; i < bits.length; i++) {
+            float x = input.get(i);
+            bits[i] = (quantizationStep == 0.0f) ? Float.floatToIntBits(x) : Math.round(x / quantizationStep);
+        }
+
+        return new Key(bits);
+    }
+
+    private record Key(int[] bits) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Arrays.equals(bits, key.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bits);
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package brain.domain;
+
+import brain.math.Vector;
+import brain.misc.TestExample;
+
+/**
+ * Anything that maps an input vector to an output vector (float, quantized, cached, ...)
+ *
+ * @since 19.10.2026, Mo.
+ */
+public interface Predictor {
+
+    Vector predict(Vector input);
+
+    /**
+     * Unlike {@link Brain#test(TestExample[])} this does not throw on a misclassification
+     *
+     * @return fraction of test examples whose argmax matches the label
+     */
+    default float accuracy(TestExample[] testExamples) {
+        if (testExamples.length == 0) {
+            return 0.0f;
+        }
+
+        int correct = 0;
+
+        for (TestExample testExample : testExamples) {
+            if (predict(testExample.input()).argmax() == testExample.label()) {
+                correct++;
+            }
+        }
+
+        return (float) correct / testExamples.length;
+    }
+
+}
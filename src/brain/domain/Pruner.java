@@ -0,0 +1,191 @@
+package brain.domain;
+
+import brain.math.Matrix;
+import brain.math.SparseMatrix;
+import brain.misc.PruningReport;
+import brain.misc.TestExample;
+
+import java.util.Arrays;
+
+/**
+ * Magnitude and structured (whole neuron) pruning of a trained {@link Brain}
+ *
+ * @since 19.10.2026, Mo.
+ */
+public final class Pruner {
+
+    private Pruner() {
+    }
+
+    /**
+     * Prunes, stores the weights as {@link SparseMatrix} and compares the accuracy before and after
+     *
+     * @param sparsity fraction of weights per layer that will be set to 0, in [0, 1]
+     */
+    public static PruningReport prune(Brain brain, float sparsity, TestExample[] testExamples) {
+        float accuracyBefore = brain.accuracy(testExamples);
+        long denseBytes = 0;
+        long sparseBytes = 0;
+
+        pruneWeights(brain, sparsity);
+        float actualSparsity = sparsity(brain);
+        sparsify(brain);
+
+        for (int l = 1; l < brain.size(); l++) {
+            var weights = (SparseMatrix) brain.getLayer(l).getWeights();
+            denseBytes += (long) Float.BYTES * weights.cols * weights.rows;
+            sparseBytes += weights.byteSize();
+        }
+
+        return new PruningReport(sparsity, actualSparsity, accuracyBefore, brain.accuracy(testExamples), denseBytes, sparseBytes);
+    }
+
+    /**
+     * Sets the smallest weights (by absolute value) of every layer to 0
+     *
+     * @param sparsity fraction of weights per layer that will be set to 0, in [0, 1]
+     */
+    public static void pruneWeights(Brain brain, float sparsity) {
+        checkFraction(sparsity);
+
+        densify(brain);
+
+        for (int l = 1; l < brain.size(); l++) {
+            Matrix weights = brain.getLayer(l).getWeights();
+            int n = weights.cols * weights.rows;
+            int k = (int) (sparsity * n);
+
+            if (k == 0) {
+                continue;
+            }
+
+            var magnitudes = new float[n];
+
+            for (int j = 0; j < weights.rows; j++) {
+                for (int i = 0; i < weights.cols; i++) {
+                    magnitudes[j * weights.cols + i] = Math.abs(weights.get(i, j));
+                }
+            }
+
+            Arrays.sort(magnitudes);
+            float threshold = magnitudes[k - 1];
+            int below = 0;
+
+            while (magnitudes[below] < threshold) {
+                below++;
+            }
+
+            // Values below the threshold are always pruned, values equal to it only until k values have been pruned
+            int ties = k - below;
+
+            for (int j = 0; j < weights.rows; j++) {
+                for (int i = 0; i < weights.cols; i++) {
+                    float magnitude = Math.abs(weights.get(i, j));
+
+                    if (magnitude < threshold) {
+                        weights.set(i, j, 0.0f);
+                    } else if (magnitude == threshold && ties > 0) {
+                        weights.set(i, j, 0.0f);
+                        ties--;
+                    }
+                }
+            }
+        }
+
+        brain.weightsChanged();
+    }
+
+    /**
+     * Removes the hidden neurons with the smallest incoming weights (L2 norm) by zeroing their
+     * incoming weights, their bias and their outgoing weights
+     *
+     * @param fraction fraction of neurons per hidden layer that will be removed, in [0, 1]
+     */
+    public static void pruneNeurons(Brain brain, float fraction) {
+        checkFraction(fraction);
+        densify(brain);
+
+        for (int l = 1; l < brain.outputLayerIndex(); l++) {
+            Layer layer = brain.getLayer(l);
+            Matrix weights = layer.getWeights();
+            Matrix nextWeights = brain.getLayer(l + 1).getWeights();
+            int k = (int) (fraction * layer.size());
+            var norms = new float[layer.size()];
+            var order = new Integer[layer.size()];
+
+            for (int j = 0; j < layer.size(); j++) {
+                var row = weights.getRow(j);
+                norms[j] = row.dot(row);
+                order[j] = j;
+            }
+
+            Arrays.sort(order, (a, b) -> Float.compare(norms[a], norms[b]));
+
+            for (int n = 0; n < k; n++) {
+                int j = order[n];
+
+                for (int i = 0; i < weights.cols; i++) {
+                    weights.set(i, j, 0.0f);
+                }
+
+                layer.getBiases().set(j, 0.0f);
+
+                for (int o = 0; o < nextWeights.rows; o++) {
+                    nextWeights.set(j, o, 0.0f);
+                }
+            }
+        }
+
+        brain.weightsChanged();
+    }
+
+    /**
+     * A previous {@link #sparsify(Brain)} made the weights immutable, pruning sets them in place
+     */
+    private static void densify(Brain brain) {
+        for (int l = 1; l < brain.size(); l++) {
+            brain.getLayer(l).getWeightBias().densify();
+        }
+    }
+
+    public static void sparsify(Brain brain) {
+        for (int l = 1; l < brain.size(); l++) {
+            brain.getLayer(l).getWeightBias().sparsify();
+        }
+
+        brain.weightsChanged();
+    }
+
+    /**
+     * @return fraction of weights that are exactly 0
+     */
+    public static float sparsity(Brain brain) {
+        long zeros = 0;
+        long total = 0;
+
+        for (int l = 1; l < brain.size(); l++) {
+            Matrix weights = brain.getLayer(l).getWeights();
+            total += (long) weights.cols * weights.rows;
+
+            if (weights instanceof SparseMatrix sparse) {
+                zeros += (long) weights.cols * weights.rows - sparse.nonZeroCount();
+                continue;
+            }
+
+            for (int j = 0; j < weights.rows; j++) {
+                for (int i = 0; i < weights.cols; i++) {
+                    if (weights.get(i, j) == 0.0f) zeros++;
+                }
+            }
+        }
+
+        return (total == 0) ? 0.0f : (float) zeros / total;
+    }
+
+    private static void checkFraction(float fraction) {
+        if (fraction < 0.0f || fraction > 1.0f) {
+            throw new IllegalArgumentException(STR."Expected a fraction in [0, 1]\nActual: \{fraction}");
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuVector;
+import brain.math.LossFunction;
+import brain.math.Vector;
+import brain.misc.QuantizationReport;
+import brain.misc.TestExample;
+
+/**
+ * Inference-only int8 copy of a trained {@link Brain}<br>
+ * Weights are quantized per row, activations per layer using the largest absolute activation seen during calibration.
+ * Unlike {@link Brain#predict(Vector)} this is stateless apart from its per-thread scratch buffers.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class QuantizedBrain implements Predictor {
+
+    private final QuantizedLayer[] layers;
+
+    private final int inputSize;
+
+    /**
+     * Applied to the raw input like {@link Layer#activate(Vector)} does for the input layer of the brain
+     */
+    private final ActivationFunction inputActivationFunction;
+
+    /**
+     * Turns the output activations into the prediction, like {@link Brain#predict(Vector)}
+     */
+    private final LossFunction lossFunction;
+
+    private final int maxLayerSize;
+
+    private final ThreadLocal<float[][]> scratch;
+
+    private final ThreadLocal<byte[]> quantizedScratch;
+
+    private QuantizedBrain(QuantizedLayer[] layers,
+                           int inputSize,
+                           ActivationFunction inputActivationFunction,
+                           LossFunction lossFunction) {
+        this.layers = layers;
+        this.inputSize = inputSize;
+        this.inputActivationFunction = inputActivationFunction;
+        this.lossFunction = lossFunction;
+        int max = inputSize;
+
+        for (QuantizedLayer layer : layers) {
+            max = Math.max(max, layer.getOutputs());
+        }
+
+        this.maxLayerSize = max;
+        this.scratch = ThreadLocal.withInitial(() -> new float[][]{new float[maxLayerSize], new float[maxLayerSize]});
+        this.quantizedScratch = ThreadLocal.withInitial(() -> new byte[maxLayerSize]);
+    }
+
+    /**
+     * @param brain              trained brain (will not be modified apart from its activations)
+     * @param calibrationInputs representative inputs that are used to pick the activation scale of every layer
+     */
+    public static QuantizedBrain quantize(Brain brain, Vector[] calibrationInputs) {
+        if (calibrationInputs.length == 0) {
+            throw new IllegalArgumentException("At least one calibration input is required");
+        }
+
+        float[] maxAbs = new float[brain.size()];
+
+        for (Vector input : calibrationInputs) {
+            brain.predict(input);
+
+            for (int l = 0; l < brain.size(); l++) {
+                Vector activations = brain.getLayer(l).getActivations();
+
+                for (int i = 0; i < activations.size(); i++) {
+                    maxAbs[l] = Math.max(maxAbs[l], Math.abs(activations.get(i)));
+                }
+            }
+        }
+
+        var layers = new QuantizedLayer[brain.size() - 1];
+
+        for (int l = 1; l < brain.size(); l++) {
+            Layer layer = brain.getLayer(l);
+            layers[l - 1] = new QuantizedLayer(layer.getWeightBias(), maxAbs[l - 1], layer.getActivationFunction());
+        }
+
+        var inputLayer = brain.getInputLayer();
+        return new QuantizedBrain(layers, inputLayer.size(), inputLayer.getActivationFunction(), brain.getLossFunction());
+    }
+
+    /**
+     * Compares this brain against the float brain it was quantized from
+     */
+    public QuantizationReport compare(Brain brain, TestExample[] testExamples) {
+        int agreements = 0;
+        int floatCorrect = 0;
+        int quantizedCorrect = 0;
+        float maxAbsoluteError = 0.0f;
+
+        for (TestExample testExample : testExamples) {
+            Vector expected = brain.predict(testExample.input());
+            int expectedArgmax = expected.argmax();
+            Vector actual = predict(testExample.input());
+            int actualArgmax = actual.argmax();
+
+            for (int i = 0; i < expected.size(); i++) {
+                maxAbsoluteError = Math.max(maxAbsoluteError, Math.abs(expected.get(i) - actual.get(i)));
+            }
+
+            if (expectedArgmax == actualArgmax) agreements++;
+            if (expectedArgmax == testExample.label()) floatCorrect++;
+            if (actualArgmax == testExample.label()) quantizedCorrect++;
+        }
+
+        float n = Math.max(1, testExamples.length);
+
+        return new QuantizationReport(
+                floatCorrect / n,
+                quantizedCorrect / n,
+                agreements / n,
+                maxAbsoluteError,
+                (long) brain.totalSize() * Float.BYTES,
+                byteSize()
+        );
+    }
+
+    @Override
+    public Vector predict(Vector input) {
+        if (input.size() != inputSize) {
+            throw new IllegalArgumentException(STR."Expected input size: \{inputSize}\nActual: \{input.size()}");
+        }
+
+        float[][] buffers = scratch.get();
+        float[] curr = buffers[0];
+        float[] next = buffers[1];
+        byte[] quantized = quantizedScratch.get();
+
+        for (int i = 0; i < inputSize; i++) {
+            curr[i] = inputActivationFunction.apply(input.get(i));
+        }
+
+        for (QuantizedLayer layer : layers) {
+            layer.quantizeInput(curr, quantized);
+            layer.feedforward(quantized, next);
+            float[] temp = curr;
+            curr = next;
+            next = temp;
+        }
+
+        int outputs = layers[layers.length - 1].getOutputs();
+        float[] output = new float[outputs];
+        System.arraycopy(curr, 0, output, 0, outputs);
+        return lossFunction.output(CpuVector.of(output));
+    }
+
+    public long byteSize() {
+        long size = 0;
+
+        for (QuantizedLayer layer : layers) {
+            size += layer.byteSize();
+        }
+
+        return size;
+    }
+
+}
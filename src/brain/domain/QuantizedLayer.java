@@ -0,0 +1,124 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.Matrix;
+import brain.misc.WeightBias;
+import lombok.Getter;
+
+/**
+ * Int8 counterpart of a {@link Layer}<br>
+ * Every weight row j is stored as round(w / rowScales[j]) so that the largest weight of the row maps to ±127.
+ * The incoming activations are quantized with a single scale that was picked during calibration.
+ *
+ * @since 19.10.2026, Mo.
+ */
+@Getter
+public class QuantizedLayer {
+
+    private static final int INT8_MAX = 127;
+
+    private final int inputs;
+
+    private final int outputs;
+
+    /**
+     * Row-major, weights[j * inputs + i] belongs to the connection from input neuron i to output neuron j
+     */
+    private final byte[] weights;
+
+    private final float[] rowScales;
+
+    private final float[] biases;
+
+    /**
+     * Scale of the activations of the PREVIOUS layer, a = inputScale * q
+     */
+    private final float inputScale;
+
+    private final ActivationFunction activationFunction;
+
+    public QuantizedLayer(WeightBias weightBias, float maxAbsInput, ActivationFunction activationFunction) {
+        Matrix m = weightBias.getWeights();
+        this.inputs = weightBias.inputs();
+        this.outputs = weightBias.outputs();
+        this.weights = new byte[inputs * outputs];
+        this.rowScales = new float[outputs];
+        this.biases = new float[outputs];
+        this.inputScale = scale(maxAbsInput);
+        this.activationFunction = activationFunction;
+
+        for (int j = 0; j < outputs; j++) {
+            float maxAbs = 0.0f;
+
+            for (int i = 0; i < inputs; i++) {
+                maxAbs = Math.max(maxAbs, Math.abs(m.get(i, j)));
+            }
+
+            rowScales[j] = scale(maxAbs);
+            biases[j] = weightBias.getBiases().get(j);
+
+            for (int i = 0; i < inputs; i++) {
+                weights[j * inputs + i] = quantize(m.get(i, j), rowScales[j]);
+            }
+        }
+    }
+
+    private static float scale(float maxAbs) {
+        // A scale of 0 would divide by zero, an all-zero row/input quantizes to 0 with any scale
+        return (maxAbs == 0.0f) ? 1.0f : maxAbs / INT8_MAX;
+    }
+
+    static byte quantize(float x, float scale) {
+        int q = Math.round(x / scale);
+        return (byte) Math.clamp(q, -INT8_MAX, INT8_MAX);
+    }
+
+    /**
+     * @param activations quantized activations of the previous layer (scale: {@link #inputScale})
+     * @param out         will contain the (float) activations of this layer
+     */
+    public void feedforward(byte[] activations, float[] out) {
+        for (int j = 0; j < outputs; j++) {
+            int acc = dot(activations, j * inputs);
+            out[j] = activationFunction.apply(acc * rowScales[j] * inputScale + biases[j]);
+        }
+    }
+
+    public void quantizeInput(float[] activations, byte[] out) {
+        for (int i = 0; i < inputs; i++) {
+            out[i] = quantize(activations[i], inputScale);
+        }
+    }
+
+    /**
+     * int8 x int8 -> int32, |acc| <= 127 * 127 * inputs which only overflows for more than 133,000 inputs
+     */
+    private int dot(byte[] activations, int offset) {
+        int acc0 = 0;
+        int acc1 = 0;
+        int acc2 = 0;
+        int acc3 = 0;
+        int i = 0;
+
+        for (; i + 3 < inputs; i += 4) {
+            acc0 += weights[offset + i] * activations[i];
+            acc1 += weights[offset + i + 1] * activations[i + 1];
+            acc2 += weights[offset + i + 2] * activations[i + 2];
+            acc3 += weights[offset + i + 3] * activations[i + 3];
+        }
+
+        for (; i < inputs; i++) {
+            acc0 += weights[offset + i] * activations[i];
+        }
+
+        return acc0 + acc1 + acc2 + acc3;
+    }
+
+    /**
+     * @return size of the quantized parameters in bytes
+     */
+    public long byteSize() {
+        return weights.length + (long) Float.BYTES * (rowScales.length + biases.length + 1);
+    }
+
+}
@@ -0,0 +1,88 @@
+package brain.domain;
+
+import brain.math.Vector;
+import brain.misc.MiniBatch;
+import brain.misc.TrainingExample;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-copy-update of the weights: one thread trains the brain, any amount of threads predict<br>
+ * Only the training thread touches the brain. Every {@link #getPublishInterval()} mini-batches it copies the weights
+ * into a new {@link BrainSnapshot} and swaps it in atomically. Readers always use the latest published snapshot,
+ * they never wait for the training and never see half-updated weights. Old snapshots are freed by the garbage
+ * collector once the last reader is done with them.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class SnapshotPublisher implements Predictor {
+
+    private final Brain brain;
+
+    private final AtomicReference<BrainSnapshot> snapshot;
+
+    /**
+     * Amount of mini-batches between two snapshots
+     */
+    @Getter
+    @Setter
+    private int publishInterval;
+
+    private int miniBatchesSincePublish;
+
+    /**
+     * @param brain brain that will only be trained through this publisher from now on
+     */
+    public SnapshotPublisher(Brain brain, int publishInterval) {
+        if (publishInterval < 1) {
+            throw new IllegalArgumentException(STR."Expected 'publishInterval' to be positive\nActual: \{publishInterval}");
+        }
+
+        this.brain = brain;
+        this.publishInterval = publishInterval;
+        this.snapshot = new AtomicReference<>(BrainSnapshot.of(brain));
+    }
+
+    /**
+     * Training thread only, same as {@link Brain#train(TrainingExample[])} but publishes snapshots in between
+     */
+    public void train(TrainingExample[] trainingExamples) {
+        brain.useTrainingSet(trainingExamples);
+        var miniBatches = MiniBatch.shuffleAndChop(brain.getMiniBatchSize(), trainingExamples);
+
+        for (MiniBatch miniBatch : miniBatches) {
+            brain.computeGradients(miniBatch);
+            brain.step(-brain.getLearningRate() / miniBatch.size());
+
+            if (++miniBatchesSincePublish >= publishInterval) {
+                publish();
+            }
+        }
+    }
+
+    /**
+     * Training thread only, publishes the current weights immediately
+     */
+    public void publish() {
+        miniBatchesSincePublish = 0;
+        snapshot.set(BrainSnapshot.of(brain));
+    }
+
+    /**
+     * @return latest published snapshot, safe to use from any thread
+     */
+    public BrainSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Predicts with the latest published snapshot, safe to call from any thread
+     */
+    @Override
+    public Vector predict(Vector input) {
+        return snapshot.get().predict(input);
+    }
+
+}
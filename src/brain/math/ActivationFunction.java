@@ -2,8 +2,6 @@ package brain.math;
 
 import lombok.AllArgsConstructor;
 
-import java.util.function.UnaryOperator;
-
 /**
  * 13.07.2022
  * Emilio Zottel
@@ -14,39 +12,58 @@ public enum ActivationFunction {
 
     LINEAR(
             x -> x,
+            _ -> 1.0f,
             _ -> 1.0f
     ),
     SIGMOID(ActivationFunction::sigmoid, x -> {
         float s = sigmoid(x);
         return s * (1.0f - s);
-    }),
+    }, s -> s * (1.0f - s)),
     TANH(ActivationFunction::tanh, x -> {
         float tanh = tanh(x);
         return 1.0f - tanh * tanh;
-    }),
+    }, tanh -> 1.0f - tanh * tanh),
     RELU(
             ActivationFunction::relu,
-            x -> (x < 0) ? 0.0f : 1.0f   // Math.max(0, Math.signum(x))
+            x -> (x < 0) ? 0.0f : 1.0f,   // Math.max(0, Math.signum(x))
+            a -> (a > 0) ? 1.0f : 0.0f
     ),
     LRELU(
             ActivationFunction::lrelu,
-            x -> (x < 0) ? 0.5f : 1.0f
+            x -> (x < 0) ? 0.5f : 1.0f,
+            a -> (a < 0) ? 0.5f : 1.0f
     ),
     ELU(
             ActivationFunction::elu,
-            x -> (x < 0) ? exp(x) : 1.0f
+            x -> (x < 0) ? exp(x) : 1.0f,
+            a -> (a < 0) ? a + 1.0f : 1.0f  // elu(x) + 1 = e^x for x < 0
     );
 
-    private final UnaryOperator<Float> function;
+    /**
+     * Same as {@code UnaryOperator<Float>} without boxing every value
+     */
+    @FunctionalInterface
+    interface FloatOperator {
 
-    private final UnaryOperator<Float> derivative;
+        float apply(float x);
+
+    }
+
+    private final FloatOperator function;
+
+    private final FloatOperator derivative;
+
+    /**
+     * Derivative expressed in terms of the activation a = f(x) instead of x, needs no transcendental math
+     */
+    private final FloatOperator derivativeFromActivation;
 
     private static float exp(float x) {
-        return (float) Math.exp(x);
+        return FastMath.exp(x);
     }
 
     private static float tanh(float x) {
-        return (float) Math.tanh(x);
+        return FastMath.tanh(x);
     }
 
     /**
@@ -91,15 +108,52 @@ public enum ActivationFunction {
      * σ'(x) = σ(x) * σ(-x) = σ(x) * (1 - σ(x)) = ELU''(x)
      */
     private static float sigmoid(float x) {
-        return 1.0f / (1.0f + exp(-x));
+        return FastMath.sigmoid(x);
     }
 
     public float apply(float x) {
         return function.apply(x);
     }
 
+    /**
+     * Applies the function to the first n values of x and writes the activations into result (may be x)<br>
+     * The function and the {@link FastMath.Mode} are picked once for the whole array, so every loop only calls one
+     * static method that the JIT can inline (and vectorize where the variant allows it)
+     */
+    public void apply(float[] x, float[] result, int n) {
+        switch (this) {
+            case LINEAR -> System.arraycopy(x, 0, result, 0, n);
+            case SIGMOID -> FastMath.sigmoid(x, result, n);
+            case TANH -> FastMath.tanh(x, result, n);
+            case RELU -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = relu(x[i]);
+                }
+            }
+            case LRELU -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = lrelu(x[i]);
+                }
+            }
+            case ELU -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = elu(x[i]);
+                }
+            }
+        }
+    }
+
     public float applyDerivative(float x) {
         return derivative.apply(x);
     }
 
+    /**
+     * Same as {@code applyDerivative(x)} for {@code a = apply(x)} (except for RELU and LRELU at exactly x = 0)
+     *
+     * @param a activation that has already been calculated
+     */
+    public float applyDerivativeFromActivation(float a) {
+        return derivativeFromActivation.apply(a);
+    }
+
 }
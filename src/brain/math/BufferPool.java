@@ -0,0 +1,184 @@
+package brain.math;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
+/**
+ * Pool of temporary vectors and matrices, keyed by their shape<br>
+ * Training only needs temporaries of a handful of shapes (one per layer size), so after the first example every
+ * borrowed buffer is a reused one and the training loop stops producing garbage. Buffers are either returned one by
+ * one ({@link #release(Vector)}) or all at once ({@link #releaseAll()}), e.g. after every example or mini-batch.
+ * The contents of a borrowed buffer are undefined, it has to be overwritten completely.
+ * <p>
+ * In debug mode (system property brain.debug=true or {@link #setDebug(boolean)}) the pool remembers where every
+ * buffer was borrowed, so {@link #checkLeaks()} can point at buffers that were never returned, and released buffers
+ * are filled with NaN, so using a buffer after returning it shows up in the results.
+ * <p>
+ * Not thread-safe, every thread needs its own pool.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class BufferPool {
+
+    /**
+     * @param hits     borrowed buffers that were reused
+     * @param misses   borrowed buffers that had to be allocated
+     * @param borrowed buffers that are currently borrowed
+     * @param pooled   buffers that are currently available for reuse
+     */
+    public record Statistics(long hits, long misses, int borrowed, int pooled) {
+
+        public float hitRate() {
+            return (hits + misses == 0) ? 0.0f : (float) hits / (hits + misses);
+        }
+
+    }
+
+    private final IntFunction<Vector> vectorConstructor;
+
+    private final BiFunction<Integer, Integer, Matrix> matrixConstructor;
+
+    private final Map<Integer, ArrayDeque<Vector>> vectors = new HashMap<>();
+
+    private final Map<Long, ArrayDeque<Matrix>> matrices = new HashMap<>();
+
+    /**
+     * Borrowed vectors and matrices, compared by identity (buffers with equal values are still different buffers),
+     * mapped to where they were borrowed in debug mode and to null otherwise
+     */
+    private final IdentityHashMap<Object, Throwable> borrowed = new IdentityHashMap<>();
+
+    @Getter
+    @Setter
+    private boolean debug = Boolean.getBoolean("brain.debug");
+
+    /**
+     * Created once, so {@link #releaseAll()} neither allocates an iterator nor a lambda
+     */
+    private final BiConsumer<Object, Throwable> freeBorrowed = (buffer, _) -> {
+        switch (buffer) {
+            case Vector vector -> free(vector);
+            case Matrix matrix -> free(matrix);
+            default -> throw new IllegalStateException(STR."Unexpected buffer: \{buffer}");
+        }
+    };
+
+    private long hits;
+
+    private long misses;
+
+    private int pooled;
+
+    public BufferPool(IntFunction<Vector> vectorConstructor, BiFunction<Integer, Integer, Matrix> matrixConstructor) {
+        this.vectorConstructor = vectorConstructor;
+        this.matrixConstructor = matrixConstructor;
+    }
+
+    public Vector vector(int size) {
+        var free = vectors.get(size);
+        var vector = (free == null || free.isEmpty()) ? null : free.pop();
+        boolean hit = vector != null;
+
+        if (!hit) {
+            vector = vectorConstructor.apply(size);
+        }
+
+        return borrow(vector, hit);
+    }
+
+    public Matrix matrix(int cols, int rows) {
+        var free = matrices.get(key(cols, rows));
+        var matrix = (free == null || free.isEmpty()) ? null : free.pop();
+        boolean hit = matrix != null;
+
+        if (!hit) {
+            matrix = matrixConstructor.apply(cols, rows);
+        }
+
+        return borrow(matrix, hit);
+    }
+
+    /**
+     * Returns a single buffer, it must not be used afterwards
+     */
+    public void release(Vector vector) {
+        unborrow(vector);
+        free(vector);
+    }
+
+    public void release(Matrix matrix) {
+        unborrow(matrix);
+        free(matrix);
+    }
+
+    /**
+     * Returns every borrowed buffer at once, none of them may be used afterwards
+     */
+    public void releaseAll() {
+        borrowed.forEach(freeBorrowed);
+        borrowed.clear();
+    }
+
+    public void checkLeaks() {
+        if (!borrowed.isEmpty()) {
+            var origin = borrowed.values().stream().filter(Objects::nonNull).findFirst().orElse(null);
+            throw new IllegalStateException(STR."\{borrowed.size()} buffers were not released", origin);
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits, misses, borrowed.size(), pooled);
+    }
+
+    private <T> T borrow(T buffer, boolean hit) {
+        if (hit) {
+            hits++;
+            pooled--;
+        } else {
+            misses++;
+        }
+
+        borrowed.put(buffer, debug ? new Throwable("Borrowed here") : null);
+        return buffer;
+    }
+
+    private void unborrow(Object buffer) {
+        if (!borrowed.containsKey(buffer)) {
+            throw new IllegalArgumentException("Buffer is not borrowed from this pool (released twice?)");
+        }
+
+        borrowed.remove(buffer);
+    }
+
+    private void free(Vector vector) {
+        if (debug) {
+            vector.fill(Float.NaN);
+        }
+
+        vectors.computeIfAbsent(vector.size(), _ -> new ArrayDeque<>()).push(vector);
+        pooled++;
+    }
+
+    private void free(Matrix matrix) {
+        if (debug) {
+            matrix.fill(Float.NaN);
+        }
+
+        matrices.computeIfAbsent(key(matrix.cols, matrix.rows), _ -> new ArrayDeque<>()).push(matrix);
+        pooled++;
+    }
+
+    private static long key(int cols, int rows) {
+        return (long) cols << 32 | rows;
+    }
+
+}
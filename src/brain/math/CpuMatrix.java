@@ -49,10 +49,20 @@ public class CpuMatrix extends Matrix {
 
     @Override
     public Vector mult(Vector v) {
-        v.check(cols, "Matrix column amount must match vector size");
-        return new CpuVector(rows).withEach(j -> v.dot(getRow(j)));
+        return mult(v, new CpuVector(rows));
     }
 
+    @Override
+    public Vector multTransposed(Vector v) {
+        return multTransposed(v, new CpuVector(cols));
+    }
+
+    /**
+     * Row j of the result is the sum of the rows of m, each scaled by its weight in row j of this matrix<br>
+     * Reads all matrices row by row (no transpose of m is created). The inner loop adds 4 scaled rows of m at once
+     * to the primitive values of the result row, so every result value is loaded and stored once per 4 rows and the
+     * JIT can vectorize the loop.
+     */
     @Override
     public Matrix mult(Matrix m) {
         if (cols != m.rows) {
@@ -60,20 +70,34 @@ public class CpuMatrix extends Matrix {
         }
 
         var result = new CpuMatrix(m.cols, rows);
-        var mTransposed = m.transpose();  // More efficient than calling getCol(i) over and over again
+        var mRows = new float[m.rows][];
+
+        for (int k = 0; k < m.rows; k++) {
+            mRows[k] = m.getRow(k).values;
+        }
 
         for (int j = 0; j < rows; j++) {
-            Vector row = getRow(j);
-            float[] resultRow = new float[m.cols];
-
-            for (int i = 0; i < m.cols; i++) {
-                // Reading the transposed columns (which are now rows) from the top down
-                // Technically they should be read from the bottom up, but since we're transposing, which is a
-                // 90° rotation instead of a 270° rotation, the effect cancels out and we can just read from the top down
-                resultRow[i] = row.dot(mTransposed.getRow(i));
+            float[] row = getRow(j).values;
+            float[] resultRow = result.getRow(j).values;
+            int k = 0;
+
+            for (; k + 3 < cols; k += 4) {
+                float f0 = row[k], f1 = row[k + 1], f2 = row[k + 2], f3 = row[k + 3];
+                float[] m0 = mRows[k], m1 = mRows[k + 1], m2 = mRows[k + 2], m3 = mRows[k + 3];
+
+                for (int i = 0; i < m.cols; i++) {
+                    resultRow[i] += f0 * m0[i] + f1 * m1[i] + f2 * m2[i] + f3 * m3[i];
+                }
             }
 
-            result.setRow(j, CpuVector.of(resultRow));
+            for (; k < cols; k++) {
+                float f = row[k];
+                float[] mRow = mRows[k];
+
+                for (int i = 0; i < m.cols; i++) {
+                    resultRow[i] += f * mRow[i];
+                }
+            }
         }
 
         return result;
@@ -92,7 +116,18 @@ public class CpuMatrix extends Matrix {
     @Override
     public Matrix transpose() {
         // Notice: Matrix constructor is reversed, normally it is used like 'new Matrix(cols, rows)'
-        return new CpuMatrix(rows, cols).withEachRow(this::getCol);
+        var result = new CpuMatrix(rows, cols);
+
+        // Reads row by row and writes into the preallocated rows of the result, no column vectors are created
+        for (int j = 0; j < rows; j++) {
+            var row = getRow(j);
+
+            for (int i = 0; i < cols; i++) {
+                result.set(j, i, row.get(i));
+            }
+        }
+
+        return result;
     }
 
     @Override
@@ -0,0 +1,186 @@
+package brain.math;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Approximations of exp, sigmoid and tanh in single precision, used by {@link ActivationFunction} depending on the
+ * {@link Mode}<br>
+ * All variants are branch-free apart from clamping, so they can be inlined into (and vectorized with) the loops
+ * over the activations. Max errors measured over [-20, 20]:
+ * <table>
+ *     <tr><th></th><th>exp (relative)</th><th>sigmoid (absolute)</th><th>tanh (absolute)</th></tr>
+ *     <tr><td>{@link Mode#POLYNOMIAL}</td><td>2e-6</td><td>2e-7</td><td>3e-7</td></tr>
+ *     <tr><td>{@link Mode#TABLE}</td><td>2e-6 (polynomial)</td><td>1e-6</td><td>2e-6</td></tr>
+ * </table>
+ * The array versions pick the variant once per array. Measured through {@link Vector#apply(ActivationFunction, Vector)}
+ * on 4096 values, TABLE is the fastest for both functions, POLYNOMIAL only pays off for tanh because
+ * {@link Math#exp(double)} is an intrinsic while {@link Math#tanh(double)} is not.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public final class FastMath {
+
+    public enum Mode {
+        /**
+         * {@link Math#exp(double)} and {@link Math#tanh(double)} in double precision
+         */
+        EXACT,
+        /**
+         * exp(x) = 2^k * 2^f with a polynomial for 2^f, sigmoid and tanh are calculated from it
+         */
+        POLYNOMIAL,
+        /**
+         * Linear interpolation in precalculated tables for sigmoid and tanh, exp uses the polynomial
+         */
+        TABLE
+    }
+
+    private static final float LOG2E = 1.442695041f;
+
+    private static final int TABLE_SIZE = 4096;
+
+    private static final float SIGMOID_RANGE = 16.0f;
+
+    private static final float TANH_RANGE = 8.0f;
+
+    private static final float[] SIGMOID_TABLE = table(SIGMOID_RANGE, x -> 1.0 / (1.0 + Math.exp(-x)));
+
+    private static final float[] TANH_TABLE = table(TANH_RANGE, Math::tanh);
+
+    /**
+     * Not volatile, has to be set before training or predicting starts
+     */
+    private static Mode mode = Mode.EXACT;
+
+    private FastMath() {
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    public static void setMode(Mode mode) {
+        FastMath.mode = mode;
+    }
+
+    private static float[] table(float range, DoubleUnaryOperator function) {
+        var table = new float[TABLE_SIZE + 1];
+
+        for (int i = 0; i <= TABLE_SIZE; i++) {
+            table[i] = (float) function.applyAsDouble(-range + 2.0 * range * i / TABLE_SIZE);
+        }
+
+        return table;
+    }
+
+    public static float exp(float x) {
+        return (mode == Mode.EXACT) ? (float) Math.exp(x) : expPolynomial(x);
+    }
+
+    public static float sigmoid(float x) {
+        return switch (mode) {
+            case EXACT -> 1.0f / (1.0f + (float) Math.exp(-x));
+            case POLYNOMIAL -> sigmoidPolynomial(x);
+            case TABLE -> sigmoidTable(x);
+        };
+    }
+
+    public static float tanh(float x) {
+        return switch (mode) {
+            case EXACT -> (float) Math.tanh(x);
+            case POLYNOMIAL -> tanhPolynomial(x);
+            case TABLE -> tanhTable(x);
+        };
+    }
+
+    /**
+     * Array version of {@link #sigmoid(float)}, the mode is only read once
+     *
+     * @param result may be x
+     */
+    public static void sigmoid(float[] x, float[] result, int n) {
+        switch (mode) {
+            case EXACT -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = 1.0f / (1.0f + (float) Math.exp(-x[i]));
+                }
+            }
+            case POLYNOMIAL -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = sigmoidPolynomial(x[i]);
+                }
+            }
+            case TABLE -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = sigmoidTable(x[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Array version of {@link #tanh(float)}, the mode is only read once
+     *
+     * @param result may be x
+     */
+    public static void tanh(float[] x, float[] result, int n) {
+        switch (mode) {
+            case EXACT -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = (float) Math.tanh(x[i]);
+                }
+            }
+            case POLYNOMIAL -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = tanhPolynomial(x[i]);
+                }
+            }
+            case TABLE -> {
+                for (int i = 0; i < n; i++) {
+                    result[i] = tanhTable(x[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits x * log2(e) into an integer k and a fraction f in [-0.5, 0.5], 2^k is written directly into the
+     * exponent bits and 2^f is approximated with its Taylor polynomial of degree 6
+     */
+    public static float expPolynomial(float x) {
+        // Keeps k inside the range of normal floats
+        float t = Math.clamp(x, -87.0f, 88.0f) * LOG2E;
+        float k = (float) Math.floor(t + 0.5f);
+        float f = t - k;
+        float p = 1.0f + f * (0.6931472f + f * (0.2402265f + f * (0.05550411f
+                + f * (0.009618129f + f * (0.001333356f + f * 1.540353e-4f)))));
+        return p * Float.intBitsToFloat(((int) k + 127) << 23);
+    }
+
+    public static float sigmoidPolynomial(float x) {
+        return 1.0f / (1.0f + expPolynomial(-x));
+    }
+
+    public static float tanhPolynomial(float x) {
+        return 1.0f - 2.0f / (1.0f + expPolynomial(2.0f * x));
+    }
+
+    public static float sigmoidTable(float x) {
+        return interpolate(SIGMOID_TABLE, SIGMOID_RANGE, x);
+    }
+
+    public static float tanhTable(float x) {
+        return interpolate(TANH_TABLE, TANH_RANGE, x);
+    }
+
+    /**
+     * Values outside of [-range, range] are clamped
+     */
+    private static float interpolate(float[] table, float range, float x) {
+        float t = (Math.clamp(x, -range, range) + range) * (TABLE_SIZE / (2.0f * range));
+        int i = Math.min((int) t, TABLE_SIZE - 1);
+        float fraction = t - i;
+        return table[i] + fraction * (table[i + 1] - table[i]);
+    }
+
+}
@@ -44,6 +44,11 @@ public class GpuMatrix extends Matrix {
     @Override
     public native Matrix transpose();
 
+    @Override
+    public Vector multTransposed(Vector v) {
+        return multTransposed(v, new GpuVector(cols));
+    }
+
     @Override
     public Vector getCol(int i) {
         return new GpuVector(rows).withEach(j -> get(i, j));
@@ -0,0 +1,147 @@
+package brain.math;
+
+/**
+ * Cost of one output compared to its target<br>
+ * The cross entropy losses are fused with the activation function of the output layer: their gradient with respect
+ * to the linear activations z of the output layer simplifies to {@code o - t}, so neither the derivative of the
+ * activation function nor the Jacobian of softmax is ever calculated.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public enum LossFunction {
+
+    /**
+     * 1/2 * (o - t)², works with every activation function
+     */
+    MEAN_SQUARED_ERROR(null),
+    /**
+     * Binary cross entropy -(t * ln(o) + (1 - t) * ln(1 - o)) of independent sigmoid outputs
+     */
+    CROSS_ENTROPY(ActivationFunction.SIGMOID),
+    /**
+     * Cross entropy -Σ t * ln(o) of o = softmax(z), the output layer has to be linear (its activations are z)
+     */
+    SOFTMAX_CROSS_ENTROPY(ActivationFunction.LINEAR);
+
+    private static final float EPSILON = 1e-7f;
+
+    /**
+     * Activation function the output layer needs for the fused gradient, null if any activation function works
+     */
+    private final ActivationFunction outputActivationFunction;
+
+    LossFunction(ActivationFunction outputActivationFunction) {
+        this.outputActivationFunction = outputActivationFunction;
+    }
+
+    /**
+     * @throws IllegalArgumentException if this loss function can not be used with the given output activation function
+     */
+    public void check(ActivationFunction activationFunction) {
+        if (outputActivationFunction != null && outputActivationFunction != activationFunction) {
+            throw new IllegalArgumentException(STR."\{this} needs a \{outputActivationFunction} output layer\nActual: \{activationFunction}");
+        }
+    }
+
+    /**
+     * @return true if {@link #gradient(Vector, Vector)} already is the gradient with respect to z
+     */
+    public boolean isFused() {
+        return outputActivationFunction != null;
+    }
+
+    /**
+     * @param activations activations of the output layer
+     * @return the prediction, softmax(activations) for {@link #SOFTMAX_CROSS_ENTROPY}, otherwise activations itself
+     */
+    public Vector output(Vector activations) {
+        if (this != SOFTMAX_CROSS_ENTROPY) {
+            return activations;
+        }
+
+        return output(activations, activations.withEach(_ -> 0.0f));
+    }
+
+    /**
+     * In-place version of {@link #output(Vector)}, e.g. into a buffer of a {@link BufferPool}
+     *
+     * @param result vector of the same size, only written for {@link #SOFTMAX_CROSS_ENTROPY}
+     * @return result for {@link #SOFTMAX_CROSS_ENTROPY}, otherwise activations itself
+     */
+    public Vector output(Vector activations, Vector result) {
+        if (this != SOFTMAX_CROSS_ENTROPY) {
+            return activations;
+        }
+
+        // Subtracting the maximum does not change the result but prevents overflow
+        float max = activations.max();
+        float sum = 0.0f;
+
+        for (int i = 0; i < activations.size(); i++) {
+            float exp = (float) Math.exp(activations.get(i) - max);
+            result.set(i, exp);
+            sum += exp;
+        }
+
+        return result.mult(1.0f / sum, result);
+    }
+
+    /**
+     * @param output return value of {@link #output(Vector)}
+     */
+    public float loss(Vector output, Vector target) {
+        return switch (this) {
+            case MEAN_SQUARED_ERROR -> 0.5f * output.sumOfSquaredDiff(target);
+            case CROSS_ENTROPY -> binaryCrossEntropy(output, target);
+            case SOFTMAX_CROSS_ENTROPY -> crossEntropy(output, target);
+        };
+    }
+
+    private static float binaryCrossEntropy(Vector output, Vector target) {
+        float loss = 0.0f;
+
+        for (int i = 0; i < output.size(); i++) {
+            float o = output.get(i);
+            float t = target.get(i);
+            loss -= t * (float) Math.log(o + EPSILON) + (1.0f - t) * (float) Math.log(1.0f - o + EPSILON);
+        }
+
+        return loss;
+    }
+
+    private static float crossEntropy(Vector output, Vector target) {
+        float loss = 0.0f;
+
+        for (int i = 0; i < output.size(); i++) {
+            float t = target.get(i);
+
+            // Zero targets contribute nothing, which skips most logarithms for one-hot targets
+            if (t != 0.0f) {
+                loss -= t * (float) Math.log(output.get(i) + EPSILON);
+            }
+        }
+
+        return loss;
+    }
+
+    /**
+     * Derivative of the loss with respect to the output activations, or with respect to z if {@link #isFused()}<br>
+     * It is o - t in all three cases
+     *
+     * @param output return value of {@link #output(Vector)}
+     */
+    public Vector gradient(Vector output, Vector target) {
+        return output.sub(target);
+    }
+
+    /**
+     * In-place version of {@link #gradient(Vector, Vector)}, e.g. into a buffer of a {@link BufferPool}
+     *
+     * @param result vector of the same size, may be output
+     * @return result
+     */
+    public Vector gradient(Vector output, Vector target, Vector result) {
+        return output.sub(target, result);
+    }
+
+}
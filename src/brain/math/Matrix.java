@@ -6,9 +6,11 @@ import lombok.EqualsAndHashCode;
 
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.function.BiConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 /**
  * @author Emilio Zottel
@@ -18,6 +20,11 @@ import java.util.function.IntFunction;
 @EqualsAndHashCode
 public abstract class Matrix {
 
+    /**
+     * Below this amount of values the rows are filled sequentially
+     */
+    private static final int PARALLEL_FILL_THRESHOLD = 1 << 16;
+
     public final int cols;  // "input size" (for matrix multiplication)
 
     public final int rows;  // "output size" (for matrix multiplication)
@@ -41,6 +48,52 @@ public abstract class Matrix {
 
     public abstract Vector mult(Vector v);
 
+    /**
+     * In-place version of {@link #mult(Vector)} that writes into result instead of allocating a new vector
+     *
+     * @param result vector of size rows, must not be v
+     * @return result
+     */
+    public Vector mult(Vector v, Vector result) {
+        v.check(cols, "Matrix column amount must match vector size");
+        result.check(rows, "Vector size must match matrix row amount");
+
+        for (int j = 0; j < rows; j++) {
+            result.set(j, getRow(j).dot(v));
+        }
+
+        return result;
+    }
+
+    /**
+     * Same as {@code transpose().mult(v)} without creating the transpose<br>
+     * The result is a vector of the same backend as this matrix
+     */
+    public abstract Vector multTransposed(Vector v);
+
+    /**
+     * In-place version of {@link #multTransposed(Vector)}<br>
+     * Every row is scaled by its value of v and added to result, so the weights are still read row by row
+     *
+     * @param result vector of size cols, must not be v
+     * @return result
+     */
+    public Vector multTransposed(Vector v, Vector result) {
+        v.check(rows, "Vector size must match matrix row amount");
+        result.check(cols, "Vector size must match matrix column amount");
+        result.fill(0.0f);
+
+        for (int j = 0; j < rows; j++) {
+            float factor = v.get(j);
+
+            if (factor != 0.0f) {
+                result.addScaled(getRow(j), factor);
+            }
+        }
+
+        return result;
+    }
+
     public abstract Matrix mult(Matrix m);
 
     public abstract Matrix multHadamard(Matrix m);
@@ -100,11 +153,74 @@ public abstract class Matrix {
         */
     }
 
+    /**
+     * The in-place operations below write into the rows returned by {@link #getRow(int)},
+     * subclasses that return copies there have to override them
+     */
+    public Matrix fill(float value) {
+        for (Vector row : values) {
+            row.fill(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * In-place version of {@code add(m.mult(factor))}
+     */
+    public void addScaled(Matrix m, float factor) {
+        if (rows != m.rows) {
+            throw new IllegalArgumentException("Matrix row amount must match");
+        }
+
+        forEachRow((j, row) -> row.addScaled(m.getRow(j), factor));
+    }
+
+    /**
+     * In-place version of {@code add(col.mult(row.toRowVector()))} without creating the outer product
+     */
+    public void addOuterProduct(Vector col, Vector row) {
+        col.check(rows, "Vector size must match matrix row amount");
+        row.check(cols, "Vector size must match matrix column amount");
+
+        for (int j = 0; j < rows; j++) {
+            float factor = col.get(j);
+
+            if (factor != 0.0f) {
+                getRow(j).addScaled(row, factor);
+            }
+        }
+    }
+
     public Matrix fillWithRandomValues(float min, float maxExclusive) {
-        forEachRow((_, row) -> row.fillWithRandomValues(min, maxExclusive));
+        return fillWithRandomValues(min, maxExclusive, Randoms.split());
+    }
+
+    /**
+     * Every row gets its own generator split from random (in row order), so large matrices are filled in parallel
+     * and the result still only depends on random
+     */
+    public Matrix fillWithRandomValues(float min, float maxExclusive, SplittableRandom random) {
+        var rowRandoms = new SplittableRandom[rows];
+
+        for (int j = 0; j < rows; j++) {
+            rowRandoms[j] = random.split();
+        }
+
+        var stream = IntStream.range(0, rows);
+
+        if ((long) rows * cols >= PARALLEL_FILL_THRESHOLD) {
+            stream = stream.parallel();
+        }
+
+        stream.forEach(j -> fillRowWithRandomValues(j, min, maxExclusive, rowRandoms[j]));
         return this;
     }
 
+    protected void fillRowWithRandomValues(int j, float min, float maxExclusive, SplittableRandom random) {
+        getRow(j).fillWithRandomValues(min, maxExclusive, random);
+    }
+
     // TODO: matrix from and to bytes
     @Override
     public String toString() {
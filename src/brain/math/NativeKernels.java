@@ -0,0 +1,170 @@
+package brain.math;
+
+import java.lang.foreign.*;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Path;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * Downcall handles into natives/kernels.c (build with {@code make -C natives})<br>
+ * Written against the Java 21 preview of java.lang.foreign, which only passes native segments to downcalls:
+ * the matrices keep their values off-heap ({@link NativeMatrix#data}) and are passed as they are, the (much smaller)
+ * float arrays of the vectors are only copied into a confined arena for the matrix-vector products. The O(n) vector
+ * operations stay in Java ({@link NativeVector}), a copy in and out would cost more than the kernel saves. The kernels are trivial (they never call
+ * back into Java), which skips the thread state transition. The directory of the library can be set with
+ * {@code -Dbrain.natives=...} (default: natives).
+ *
+ * @since 19.10.2026, Mo.
+ */
+final class NativeKernels {
+
+    private static final Linker LINKER = Linker.nativeLinker();
+
+    private static final SymbolLookup LOOKUP = SymbolLookup.libraryLookup(
+            Path.of(System.getProperty("brain.natives", "natives"), System.mapLibraryName("brainkernels")),
+            Arena.global()
+    );
+
+    private static final MethodHandle GEMV = downcall("brain_gemv", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, ADDRESS, JAVA_INT, JAVA_INT));
+
+    private static final MethodHandle GEMV_TRANSPOSED = downcall("brain_gemv_transposed", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, ADDRESS, JAVA_INT, JAVA_INT));
+
+    private static final MethodHandle GEMM = downcall("brain_gemm", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, ADDRESS, JAVA_INT, JAVA_INT, JAVA_INT));
+
+    private static final MethodHandle TRANSPOSE = downcall("brain_transpose", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, JAVA_INT, JAVA_INT));
+
+    private static final MethodHandle OUTER = downcall("brain_outer", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, ADDRESS, JAVA_INT, JAVA_INT));
+
+    private static final MethodHandle OUTER_ADD = downcall("brain_outer_add", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, ADDRESS, JAVA_INT, JAVA_INT));
+
+    private static final MethodHandle ADD = downcall("brain_add", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, ADDRESS, JAVA_INT));
+
+    private static final MethodHandle SUB = downcall("brain_sub", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, ADDRESS, JAVA_INT));
+
+    private static final MethodHandle MUL = downcall("brain_mul", FunctionDescriptor.ofVoid(ADDRESS, ADDRESS, ADDRESS, JAVA_INT));
+
+    private static final MethodHandle SCALE = downcall("brain_scale", FunctionDescriptor.ofVoid(ADDRESS, JAVA_FLOAT, ADDRESS, JAVA_INT));
+
+    private static final MethodHandle AXPY = downcall("brain_axpy", FunctionDescriptor.ofVoid(JAVA_FLOAT, ADDRESS, ADDRESS, JAVA_INT));
+
+    private NativeKernels() {
+    }
+
+    private static MethodHandle downcall(String name, FunctionDescriptor descriptor) {
+        var symbol = LOOKUP.find(name).orElseThrow(() -> new UnsatisfiedLinkError(STR."Missing native kernel: \{name}"));
+        return LINKER.downcallHandle(symbol, descriptor, Linker.Option.isTrivial());
+    }
+
+    /**
+     * @return zero-initialized off-heap floats that are freed by the garbage collector
+     */
+    static MemorySegment allocate(long size) {
+        return Arena.ofAuto().allocateArray(JAVA_FLOAT, size);
+    }
+
+    private static MemorySegment copyOf(float[] array, Arena arena) {
+        return arena.allocateArray(JAVA_FLOAT, array);
+    }
+
+    private static void copyTo(MemorySegment segment, float[] array) {
+        MemorySegment.copy(segment, JAVA_FLOAT, 0, array, 0, array.length);
+    }
+
+    private static IllegalStateException rethrow(Throwable e) {
+        return new IllegalStateException("Native kernel failed", e);
+    }
+
+    static void gemv(MemorySegment w, float[] x, float[] y, int rows, int cols) {
+        try (var arena = Arena.ofConfined()) {
+            var result = arena.allocateArray(JAVA_FLOAT, y.length);
+            GEMV.invokeExact(w, copyOf(x, arena), result, rows, cols);
+            copyTo(result, y);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void gemvTransposed(MemorySegment w, float[] x, float[] y, int rows, int cols) {
+        try (var arena = Arena.ofConfined()) {
+            var result = arena.allocateArray(JAVA_FLOAT, y.length);
+            GEMV_TRANSPOSED.invokeExact(w, copyOf(x, arena), result, rows, cols);
+            copyTo(result, y);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void gemm(MemorySegment a, MemorySegment b, MemorySegment c, int m, int k, int n) {
+        try {
+            GEMM.invokeExact(a, b, c, m, k, n);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void transpose(MemorySegment a, MemorySegment out, int rows, int cols) {
+        try {
+            TRANSPOSE.invokeExact(a, out, rows, cols);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void outer(float[] col, float[] row, MemorySegment out, int rows, int cols) {
+        try (var arena = Arena.ofConfined()) {
+            OUTER.invokeExact(copyOf(col, arena), copyOf(row, arena), out, rows, cols);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void outerAdd(float[] col, float[] row, MemorySegment out, int rows, int cols) {
+        try (var arena = Arena.ofConfined()) {
+            OUTER_ADD.invokeExact(copyOf(col, arena), copyOf(row, arena), out, rows, cols);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void add(MemorySegment a, MemorySegment b, MemorySegment out, int n) {
+        try {
+            ADD.invokeExact(a, b, out, n);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void sub(MemorySegment a, MemorySegment b, MemorySegment out, int n) {
+        try {
+            SUB.invokeExact(a, b, out, n);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void mul(MemorySegment a, MemorySegment b, MemorySegment out, int n) {
+        try {
+            MUL.invokeExact(a, b, out, n);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void scale(MemorySegment a, float factor, MemorySegment out, int n) {
+        try {
+            SCALE.invokeExact(a, factor, out, n);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void axpy(float alpha, MemorySegment x, MemorySegment y, int n) {
+        try {
+            AXPY.invokeExact(alpha, x, y, n);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+}
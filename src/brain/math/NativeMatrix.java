@@ -0,0 +1,241 @@
+package brain.math;
+
+import java.lang.foreign.MemorySegment;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+
+/**
+ * Matrix backed by the portable C kernels of {@link NativeKernels}<br>
+ * The values are stored contiguously (row-major) and off-heap in {@link #data} instead of one vector per row so that
+ * the kernels can work on the whole matrix at once without copying it. {@link #getRow(int)} therefore returns a copy.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class NativeMatrix extends Matrix {
+
+    final MemorySegment data;
+
+    public NativeMatrix(int cols, int rows) {
+        super(cols, rows, null);
+        this.data = NativeKernels.allocate((long) cols * rows);
+    }
+
+    public NativeMatrix(Vector... values) {
+        this((values.length == 0) ? 0 : values[0].size(), values.length);
+
+        for (int j = 0; j < rows; j++) {
+            copyRow(j, values[j]);
+        }
+    }
+
+    @Override
+    public Matrix add(Matrix m) {
+        var result = new NativeMatrix(cols, rows);
+        NativeKernels.add(data, sameSize(m).data, result.data, size());
+        return result;
+    }
+
+    @Override
+    public Matrix sub(Matrix m) {
+        var result = new NativeMatrix(cols, rows);
+        NativeKernels.sub(data, sameSize(m).data, result.data, size());
+        return result;
+    }
+
+    @Override
+    public Matrix div(float divisor) {
+        return mult(1.0f / divisor);
+    }
+
+    @Override
+    public Matrix mult(float factor) {
+        var result = new NativeMatrix(cols, rows);
+        NativeKernels.scale(data, factor, result.data, size());
+        return result;
+    }
+
+    @Override
+    public Vector mult(Vector v) {
+        v.check(cols, "Matrix column amount must match vector size");
+        var result = new NativeVector(rows);
+        NativeKernels.gemv(data, v.values, result.values, rows, cols);
+        return result;
+    }
+
+    @Override
+    public Vector mult(Vector v, Vector result) {
+        v.check(cols, "Matrix column amount must match vector size");
+        result.check(rows, "Vector size must match matrix row amount");
+        NativeKernels.gemv(data, v.values, result.values, rows, cols);
+        return result;
+    }
+
+    @Override
+    public Vector multTransposed(Vector v) {
+        return multTransposed(v, new NativeVector(cols));
+    }
+
+    @Override
+    public Vector multTransposed(Vector v, Vector result) {
+        v.check(rows, "Vector size must match matrix row amount");
+        result.check(cols, "Vector size must match matrix column amount");
+        NativeKernels.gemvTransposed(data, v.values, result.values, rows, cols);
+        return result;
+    }
+
+    @Override
+    public Matrix mult(Matrix m) {
+        if (cols != m.rows) {
+            throw new IllegalArgumentException("Matrix column amount must match");
+        }
+
+        var result = new NativeMatrix(m.cols, rows);
+        NativeKernels.gemm(data, toNative(m).data, result.data, rows, cols, m.cols);
+        return result;
+    }
+
+    @Override
+    public Matrix multHadamard(Matrix m) {
+        var result = new NativeMatrix(cols, rows);
+        NativeKernels.mul(data, sameSize(m).data, result.data, size());
+        return result;
+    }
+
+    @Override
+    public Matrix transpose() {
+        // Notice: Matrix constructor is reversed, normally it is used like 'new Matrix(cols, rows)'
+        var result = new NativeMatrix(rows, cols);
+        NativeKernels.transpose(data, result.data, rows, cols);
+        return result;
+    }
+
+    @Override
+    public Matrix withEachRow(IntFunction<Vector> function) {
+        var m = new NativeMatrix(cols, rows);
+        m.setEachRow(function);
+        return m;
+    }
+
+    @Override
+    public Vector getCol(int i) {
+        return new NativeVector(rows).withEach(j -> get(i, j));
+    }
+
+    /**
+     * @return a copy of row j, changing it does not change this matrix
+     */
+    @Override
+    public Vector getRow(int j) {
+        var row = new float[cols];
+        MemorySegment.copy(data, JAVA_FLOAT, offset(0, j), row, 0, cols);
+        return NativeVector.of(row);
+    }
+
+    @Override
+    public void setRow(int j, Vector values) {
+        copyRow(j, values);
+    }
+
+    /**
+     * Not overridable, so the constructor can use it
+     */
+    private void copyRow(int j, Vector values) {
+        values.check(cols, "Vector size must match matrix column amount");
+        MemorySegment.copy(values.values, 0, data, JAVA_FLOAT, offset(0, j), cols);
+    }
+
+    @Override
+    public float get(int i, int j) {
+        return data.get(JAVA_FLOAT, offset(i, j));
+    }
+
+    @Override
+    public void set(int i, int j, float value) {
+        data.set(JAVA_FLOAT, offset(i, j), value);
+    }
+
+    @Override
+    public Matrix fill(float value) {
+        for (long k = 0; k < size(); k++) {
+            data.setAtIndex(JAVA_FLOAT, k, value);
+        }
+
+        return this;
+    }
+
+    @Override
+    public void addScaled(Matrix m, float factor) {
+        NativeKernels.axpy(factor, sameSize(m).data, data, size());
+    }
+
+    @Override
+    public void addOuterProduct(Vector col, Vector row) {
+        col.check(rows, "Vector size must match matrix row amount");
+        row.check(cols, "Vector size must match matrix column amount");
+        NativeKernels.outerAdd(col.values, row.values, data, rows, cols);
+    }
+
+    @Override
+    protected void fillRowWithRandomValues(int j, float min, float maxExclusive, SplittableRandom random) {
+        for (int i = 0; i < cols; i++) {
+            set(i, j, random.nextFloat(min, maxExclusive));
+        }
+    }
+
+    private int size() {
+        return cols * rows;
+    }
+
+    /**
+     * @return byte offset of the value in column i and row j
+     */
+    private long offset(int i, int j) {
+        return ((long) j * cols + i) * Float.BYTES;
+    }
+
+    /**
+     * @return m itself if it has the same size and already is a NativeMatrix, otherwise a copy
+     */
+    private NativeMatrix sameSize(Matrix m) {
+        if (cols != m.cols || rows != m.rows) {
+            throw new IllegalArgumentException("Matrix dimensions must match");
+        }
+
+        return toNative(m);
+    }
+
+    private static NativeMatrix toNative(Matrix m) {
+        if (m instanceof NativeMatrix nativeMatrix) {
+            return nativeMatrix;
+        }
+
+        var copy = new NativeMatrix(m.cols, m.rows);
+
+        for (int j = 0; j < m.rows; j++) {
+            copy.setRow(j, m.getRow(j));
+        }
+
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NativeMatrix m)) return false;
+        return cols == m.cols && rows == m.rows && data.mismatch(m.data) == -1;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * cols + rows;
+
+        for (long k = 0; k < size(); k++) {
+            hash = 31 * hash + Float.hashCode(data.getAtIndex(JAVA_FLOAT, k));
+        }
+
+        return hash;
+    }
+
+}
@@ -0,0 +1,135 @@
+package brain.math;
+
+import java.util.function.IntFunction;
+
+/**
+ * Vector of the native backend<br>
+ * The values stay on the Java heap and the O(n) operations are plain Java loops: the Java 21 downcalls only take
+ * native memory, so calling a C kernel would mean copying the vector in and out again, which costs as much as the
+ * operation itself. Only the products with a {@link NativeMatrix} (gemv, outer product) go through {@link NativeKernels}.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class NativeVector extends Vector {
+
+    public NativeVector(int size) {
+        super(size);
+    }
+
+    private NativeVector(float[] values) {
+        super(values);
+    }
+
+    public static NativeVector of(float... values) {
+        return new NativeVector(values);
+    }
+
+    public static Vector[] makeArray(int cols, int rows) {
+        return Vector.makeArray(cols, rows, NativeVector::new);
+    }
+
+    @Override
+    public Matrix toRowVector() {
+        return new NativeMatrix(this);
+    }
+
+    @Override
+    public Vector negate() {
+        return mult(-1.0f);
+    }
+
+    @Override
+    public Vector add(Vector v) {
+        check(v.size());
+        var result = new NativeVector(size());
+
+        for (int i = 0; i < size(); i++) {
+            result.values[i] = values[i] + v.values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Vector sub(Vector v) {
+        check(v.size());
+        var result = new NativeVector(size());
+
+        for (int i = 0; i < size(); i++) {
+            result.values[i] = values[i] - v.values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Vector mult(float factor) {
+        var result = new NativeVector(size());
+
+        for (int i = 0; i < size(); i++) {
+            result.values[i] = values[i] * factor;
+        }
+
+        return result;
+    }
+
+    @Override
+    public Vector mult(Vector v) {
+        check(v.size());
+        var result = new NativeVector(size());
+
+        for (int i = 0; i < size(); i++) {
+            result.values[i] = values[i] * v.values[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Multiplies this column vector with a row vector and returns the resulting matrix
+     */
+    @Override
+    public Matrix mult(Matrix rowVector) {
+        if (rowVector.rows != 1) {
+            throw new IllegalArgumentException("Parameter m must be a row vector, which means it must have exactly 1 row");
+        }
+
+        var result = new NativeMatrix(rowVector.cols, size());
+        NativeKernels.outer(values, rowVector.getRow(0).values, result.data, size(), rowVector.cols);
+        return result;
+    }
+
+    @Override
+    public Vector div(float divisor) {
+        return mult(1.0f / divisor);
+    }
+
+    @Override
+    public float dot(Vector v) {
+        check(v.size());
+        float s0 = 0.0f, s1 = 0.0f, s2 = 0.0f, s3 = 0.0f;
+        int n = size();
+        int i = 0;
+
+        for (; i + 3 < n; i += 4) {
+            s0 += values[i] * v.values[i];
+            s1 += values[i + 1] * v.values[i + 1];
+            s2 += values[i + 2] * v.values[i + 2];
+            s3 += values[i + 3] * v.values[i + 3];
+        }
+
+        for (; i < n; i++) {
+            s0 += values[i] * v.values[i];
+        }
+
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public Vector withEach(IntFunction<Float> function) {
+        Vector v = new NativeVector(size());
+        v.setEach(function);
+        return v;
+    }
+
+}
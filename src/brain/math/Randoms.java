@@ -0,0 +1,91 @@
+package brain.math;
+
+import brain.domain.Brain;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random number generators without a shared (contended) state<br>
+ * Every thread gets its own {@link SplittableRandom}, split from a root generator seeded with {@link Brain#SEED}.
+ * Generators that have to be reproducible independent of the threads (e.g. per layer or per row) are created with
+ * {@link SplittableRandom#split()} in a fixed order or with {@link #of(long...)}.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public final class Randoms {
+
+    private static final ThreadLocal<Local> LOCAL = ThreadLocal.withInitial(Randoms::newLocal);
+
+    private static SplittableRandom root = new SplittableRandom(Brain.SEED);
+
+    private static long seed = Brain.SEED;
+
+    /**
+     * Incremented by {@link #setSeed(long)} so that every thread replaces its generator
+     */
+    private static volatile int generation;
+
+    private Randoms() {
+    }
+
+    private record Local(int generation, SplittableRandom random) {
+    }
+
+    private static synchronized Local newLocal() {
+        return new Local(generation, root.split());
+    }
+
+    /**
+     * Restarts all generators, the threads that use {@link #current()} in the same order get the same numbers again
+     */
+    public static synchronized void setSeed(long seed) {
+        Randoms.seed = seed;
+        root = new SplittableRandom(seed);
+        generation++;
+    }
+
+    /**
+     * @return generator of the calling thread, must not be passed to other threads
+     */
+    public static SplittableRandom current() {
+        var local = LOCAL.get();
+
+        if (local.generation() != generation) {
+            local = newLocal();
+            LOCAL.set(local);
+        }
+
+        return local.random();
+    }
+
+    /**
+     * @return new independent generator split from the generator of the calling thread
+     */
+    public static SplittableRandom split() {
+        return current().split();
+    }
+
+    /**
+     * @param keys e.g. thread index, layer index, ...
+     * @return generator that only depends on the seed and the keys, not on the calling thread
+     */
+    public static SplittableRandom of(long... keys) {
+        long state = seed;
+
+        for (long key : keys) {
+            state = mix(state + 0x9E3779B97F4A7C15L * (key + 1));
+        }
+
+        return new SplittableRandom(state);
+    }
+
+    /**
+     * Finalizer of SplitMix64
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,328 @@
+package brain.math;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable matrix in CSR (compressed sparse row) format<br>
+ * Only the non-zero values are stored, row j consists of the values from rowPointers[j] (inclusive)
+ * to rowPointers[j + 1] (exclusive) with their column indices stored in colIndices.<br>
+ * Operations that can introduce new non-zero values ({@link #add(Matrix)}, {@link #sub(Matrix)}, ...)
+ * return a dense {@link CpuMatrix}.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class SparseMatrix extends Matrix {
+
+    private final float[] nonZeros;
+
+    private final int[] colIndices;
+
+    private final int[] rowPointers;
+
+    private SparseMatrix(int cols, int rows, float[] nonZeros, int[] colIndices, int[] rowPointers) {
+        super(cols, rows, null);
+        this.nonZeros = nonZeros;
+        this.colIndices = colIndices;
+        this.rowPointers = rowPointers;
+    }
+
+    /**
+     * Drops every value that is exactly 0
+     */
+    public static SparseMatrix of(Matrix m) {
+        if (m instanceof SparseMatrix sparse) {
+            return sparse;
+        }
+
+        int nnz = 0;
+
+        for (int j = 0; j < m.rows; j++) {
+            Vector row = m.getRow(j);
+
+            for (int i = 0; i < m.cols; i++) {
+                if (row.get(i) != 0.0f) nnz++;
+            }
+        }
+
+        var nonZeros = new float[nnz];
+        var colIndices = new int[nnz];
+        var rowPointers = new int[m.rows + 1];
+        int k = 0;
+
+        for (int j = 0; j < m.rows; j++) {
+            Vector row = m.getRow(j);
+            rowPointers[j] = k;
+
+            for (int i = 0; i < m.cols; i++) {
+                float value = row.get(i);
+
+                if (value != 0.0f) {
+                    nonZeros[k] = value;
+                    colIndices[k] = i;
+                    k++;
+                }
+            }
+        }
+
+        rowPointers[m.rows] = k;
+        return new SparseMatrix(m.cols, m.rows, nonZeros, colIndices, rowPointers);
+    }
+
+    public int nonZeroCount() {
+        return nonZeros.length;
+    }
+
+    public float density() {
+        return (cols * rows == 0) ? 0.0f : (float) nonZeroCount() / (cols * rows);
+    }
+
+    /**
+     * @return size of the CSR arrays in bytes
+     */
+    public long byteSize() {
+        return (long) Float.BYTES * nonZeros.length + (long) Integer.BYTES * (colIndices.length + rowPointers.length);
+    }
+
+    public CpuMatrix toDense() {
+        var dense = new CpuMatrix(cols, rows);
+
+        for (int j = 0; j < rows; j++) {
+            for (int k = rowPointers[j]; k < rowPointers[j + 1]; k++) {
+                dense.set(colIndices[k], j, nonZeros[k]);
+            }
+        }
+
+        return dense;
+    }
+
+    @Override
+    public Matrix add(Matrix m) {
+        return toDense().add(m);
+    }
+
+    @Override
+    public Matrix sub(Matrix m) {
+        return toDense().sub(m);
+    }
+
+    @Override
+    public Matrix div(float divisor) {
+        return mult(1.0f / divisor);
+    }
+
+    @Override
+    public Matrix mult(float factor) {
+        var scaled = new float[nonZeros.length];
+
+        for (int k = 0; k < nonZeros.length; k++) {
+            scaled[k] = nonZeros[k] * factor;
+        }
+
+        return new SparseMatrix(cols, rows, scaled, colIndices, rowPointers);
+    }
+
+    @Override
+    public Vector mult(Vector v) {
+        return mult(v, new CpuVector(rows));
+    }
+
+    @Override
+    public Vector mult(Vector v, Vector result) {
+        v.check(cols, "Matrix column amount must match vector size");
+        result.check(rows, "Vector size must match matrix row amount");
+
+        for (int j = 0; j < rows; j++) {
+            float sum = 0.0f;
+
+            for (int k = rowPointers[j]; k < rowPointers[j + 1]; k++) {
+                sum += nonZeros[k] * v.get(colIndices[k]);
+            }
+
+            result.set(j, sum);
+        }
+
+        return result;
+    }
+
+    @Override
+    public Vector multTransposed(Vector v) {
+        return multTransposed(v, new CpuVector(cols));
+    }
+
+    /**
+     * Scatters every non-zero value into the entry of its column, no CSC copy is built
+     */
+    @Override
+    public Vector multTransposed(Vector v, Vector result) {
+        v.check(rows, "Vector size must match matrix row amount");
+        result.check(cols, "Vector size must match matrix column amount");
+        result.fill(0.0f);
+
+        for (int j = 0; j < rows; j++) {
+            float factor = v.get(j);
+
+            for (int k = rowPointers[j]; k < rowPointers[j + 1]; k++) {
+                result.set(colIndices[k], result.get(colIndices[k]) + nonZeros[k] * factor);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Batched multiplication, every column of m is one input. Each non-zero weight scales an entire row of m.
+     */
+    @Override
+    public Matrix mult(Matrix m) {
+        if (cols != m.rows) {
+            throw new IllegalArgumentException("Matrix column amount must match");
+        }
+
+        var result = new CpuMatrix(m.cols, rows);
+
+        for (int j = 0; j < rows; j++) {
+            var resultRow = new float[m.cols];
+
+            for (int k = rowPointers[j]; k < rowPointers[j + 1]; k++) {
+                float value = nonZeros[k];
+                Vector row = m.getRow(colIndices[k]);
+
+                for (int i = 0; i < m.cols; i++) {
+                    resultRow[i] += value * row.get(i);
+                }
+            }
+
+            result.setRow(j, CpuVector.of(resultRow));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Matrix multHadamard(Matrix m) {
+        if (cols != m.cols || rows != m.rows) {
+            throw new IllegalArgumentException("Matrix dimensions must match");
+        }
+
+        var products = new float[nonZeros.length];
+
+        for (int j = 0; j < rows; j++) {
+            for (int k = rowPointers[j]; k < rowPointers[j + 1]; k++) {
+                products[k] = nonZeros[k] * m.get(colIndices[k], j);
+            }
+        }
+
+        return new SparseMatrix(cols, rows, products, colIndices, rowPointers);
+    }
+
+    /**
+     * CSR of the transpose is the CSC of this matrix, built with a counting sort over the column indices
+     */
+    @Override
+    public Matrix transpose() {
+        var counts = new int[cols + 1];
+
+        for (int col : colIndices) {
+            counts[col + 1]++;
+        }
+
+        for (int i = 0; i < cols; i++) {
+            counts[i + 1] += counts[i];
+        }
+
+        var tRowPointers = counts.clone();
+        var next = Arrays.copyOf(counts, cols);
+        var tNonZeros = new float[nonZeros.length];
+        var tColIndices = new int[nonZeros.length];
+
+        for (int j = 0; j < rows; j++) {
+            for (int k = rowPointers[j]; k < rowPointers[j + 1]; k++) {
+                int dest = next[colIndices[k]]++;
+                tNonZeros[dest] = nonZeros[k];
+                tColIndices[dest] = j;
+            }
+        }
+
+        // Notice: Matrix constructor is reversed, normally it is used like 'new Matrix(cols, rows)'
+        return new SparseMatrix(rows, cols, tNonZeros, tColIndices, tRowPointers);
+    }
+
+    @Override
+    public Matrix withEachRow(IntFunction<Vector> function) {
+        return new CpuMatrix(cols, rows).withEachRow(function);
+    }
+
+    @Override
+    public Vector getCol(int i) {
+        return new CpuVector(rows).withEach(j -> get(i, j));
+    }
+
+    /**
+     * @return a dense copy of row j, changing it does not change this matrix
+     */
+    @Override
+    public Vector getRow(int j) {
+        var row = new float[cols];
+
+        for (int k = rowPointers[j]; k < rowPointers[j + 1]; k++) {
+            row[colIndices[k]] = nonZeros[k];
+        }
+
+        return CpuVector.of(row);
+    }
+
+    @Override
+    public void setRow(int j, Vector values) {
+        throw new UnsupportedOperationException("SparseMatrix is immutable");
+    }
+
+    @Override
+    public float get(int i, int j) {
+        int k = Arrays.binarySearch(colIndices, rowPointers[j], rowPointers[j + 1], i);
+        return (k < 0) ? 0.0f : nonZeros[k];
+    }
+
+    @Override
+    public void set(int i, int j, float value) {
+        throw new UnsupportedOperationException("SparseMatrix is immutable");
+    }
+
+    @Override
+    public Matrix fill(float value) {
+        throw new UnsupportedOperationException("SparseMatrix is immutable");
+    }
+
+    @Override
+    public void addScaled(Matrix m, float factor) {
+        throw new UnsupportedOperationException("SparseMatrix is immutable");
+    }
+
+    @Override
+    public void addOuterProduct(Vector col, Vector row) {
+        throw new UnsupportedOperationException("SparseMatrix is immutable");
+    }
+
+    @Override
+    public Matrix fillWithRandomValues(float min, float maxExclusive, SplittableRandom random) {
+        throw new UnsupportedOperationException("SparseMatrix is immutable");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SparseMatrix m)) return false;
+        return cols == m.cols
+                && rows == m.rows
+                && Arrays.equals(nonZeros, m.nonZeros)
+                && Arrays.equals(colIndices, m.colIndices)
+                && Arrays.equals(rowPointers, m.rowPointers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(nonZeros) + Arrays.hashCode(colIndices)) + Arrays.hashCode(rowPointers);
+    }
+
+}
@@ -1,6 +1,5 @@
 package brain.math;
 
-import brain.domain.Brain;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -8,6 +7,7 @@ import java.util.function.BiConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
 import java.util.function.UnaryOperator;
+import java.util.random.RandomGenerator;
 
 /**
  * @author Emilio Zottel
@@ -62,24 +62,189 @@ public abstract class Vector {
 
     public abstract Vector withEach(IntFunction<Float> function);
 
+    /**
+     * The reductions below work on the primitive values directly and use 4 independent accumulators,
+     * which breaks the dependency chain of a single sum so the JIT can pipeline or vectorize the loop
+     */
     public float sum() {
-        float[] result = {0.0f};
-        forEach((_, x) -> result[0] += x);
+        float s0 = 0.0f, s1 = 0.0f, s2 = 0.0f, s3 = 0.0f;
+        int n = size();
+        int i = 0;
+
+        for (; i + 3 < n; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+
+        for (; i < n; i++) {
+            s0 += values[i];
+        }
+
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * @return NaN if this vector is empty
+     */
+    public float mean() {
+        return sum() / size();
+    }
+
+    /**
+     * Population variance, computed in two passes (mean first) to avoid the cancellation of E[x²] - E[x]²
+     */
+    public float variance() {
+        float mean = mean();
+        float s0 = 0.0f, s1 = 0.0f, s2 = 0.0f, s3 = 0.0f;
+        int n = size();
+        int i = 0;
+
+        for (; i + 3 < n; i += 4) {
+            float d0 = values[i] - mean;
+            float d1 = values[i + 1] - mean;
+            float d2 = values[i + 2] - mean;
+            float d3 = values[i + 3] - mean;
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+
+        for (; i < n; i++) {
+            float d = values[i] - mean;
+            s0 += d * d;
+        }
+
+        return ((s0 + s1) + (s2 + s3)) / n;
+    }
+
+    /**
+     * Euclidean norm
+     */
+    public float norm() {
+        float s0 = 0.0f, s1 = 0.0f, s2 = 0.0f, s3 = 0.0f;
+        int n = size();
+        int i = 0;
+
+        for (; i + 3 < n; i += 4) {
+            s0 += values[i] * values[i];
+            s1 += values[i + 1] * values[i + 1];
+            s2 += values[i + 2] * values[i + 2];
+            s3 += values[i + 3] * values[i + 3];
+        }
+
+        for (; i < n; i++) {
+            s0 += values[i] * values[i];
+        }
+
+        return (float) Math.sqrt((s0 + s1) + (s2 + s3));
+    }
+
+    /**
+     * Fused version of {@code sub(v)} followed by the sum of the squares, without the intermediate vector
+     */
+    public float sumOfSquaredDiff(Vector v) {
+        check(v.size());
+        float[] w = v.values;
+        float s0 = 0.0f, s1 = 0.0f, s2 = 0.0f, s3 = 0.0f;
+        int n = size();
+        int i = 0;
+
+        for (; i + 3 < n; i += 4) {
+            float d0 = values[i] - w[i];
+            float d1 = values[i + 1] - w[i + 1];
+            float d2 = values[i + 2] - w[i + 2];
+            float d3 = values[i + 3] - w[i + 3];
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+
+        for (; i < n; i++) {
+            float d = values[i] - w[i];
+            s0 += d * d;
+        }
 
-        return result[0];
+        return (s0 + s1) + (s2 + s3);
     }
 
+    /**
+     * @return negative infinity if this vector is empty
+     */
+    public float max() {
+        float m0 = Float.NEGATIVE_INFINITY, m1 = m0, m2 = m0, m3 = m0;
+        int n = size();
+        int i = 0;
+
+        for (; i + 3 < n; i += 4) {
+            m0 = Math.max(m0, values[i]);
+            m1 = Math.max(m1, values[i + 1]);
+            m2 = Math.max(m2, values[i + 2]);
+            m3 = Math.max(m3, values[i + 3]);
+        }
+
+        for (; i < n; i++) {
+            m0 = Math.max(m0, values[i]);
+        }
+
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    /**
+     * @return positive infinity if this vector is empty
+     */
+    public float min() {
+        float m0 = Float.POSITIVE_INFINITY, m1 = m0, m2 = m0, m3 = m0;
+        int n = size();
+        int i = 0;
+
+        for (; i + 3 < n; i += 4) {
+            m0 = Math.min(m0, values[i]);
+            m1 = Math.min(m1, values[i + 1]);
+            m2 = Math.min(m2, values[i + 2]);
+            m3 = Math.min(m3, values[i + 3]);
+        }
+
+        for (; i < n; i++) {
+            m0 = Math.min(m0, values[i]);
+        }
+
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    /**
+     * Starts at the first value, so all-negative vectors work too
+     *
+     * @return index of the first maximum, -1 if this vector is empty
+     */
     public int argmax() {
-        float[] max_maxIdx = {0.0f, 0};
+        int maxIdx = (size() == 0) ? -1 : 0;
+
+        for (int i = 1; i < size(); i++) {
+            if (values[i] > values[maxIdx]) {
+                maxIdx = i;
+            }
+        }
+
+        return maxIdx;
+    }
+
+    /**
+     * @return index of the first minimum, -1 if this vector is empty
+     */
+    public int argmin() {
+        int minIdx = (size() == 0) ? -1 : 0;
 
-        forEach((i, x) -> {
-            if (x > max_maxIdx[0]) {
-                max_maxIdx[0] = x;
-                max_maxIdx[1] = i;
+        for (int i = 1; i < size(); i++) {
+            if (values[i] < values[minIdx]) {
+                minIdx = i;
             }
-        });
+        }
 
-        return (int) max_maxIdx[1];
+        return minIdx;
     }
 
     public int size() {
@@ -96,7 +261,10 @@ public abstract class Vector {
 
     public void setAll(Vector v) {
         check(v.size());
-        setEach(v::get);
+
+        for (int i = 0; i < size(); i++) {
+            values[i] = v.get(i);
+        }
     }
 
     public void setEach(IntFunction<Float> function) {
@@ -111,6 +279,30 @@ public abstract class Vector {
         return withEach(function);
     }
 
+    public float[] toArray() {
+        return values.clone();
+    }
+
+    public Vector copy() {
+        return withEach(this::get);
+    }
+
+    public Vector apply(ActivationFunction activationFunction) {
+        return apply(activationFunction, withEach(_ -> 0.0f));
+    }
+
+    /**
+     * In-place version of {@link #apply(ActivationFunction)} that writes into result instead of allocating a new vector
+     *
+     * @param result vector of the same size, may be this
+     * @return result
+     */
+    public Vector apply(ActivationFunction activationFunction, Vector result) {
+        result.check(size());
+        activationFunction.apply(values, result.values, size());
+        return result;
+    }
+
     public Vector map(UnaryOperator<Float> function) {
         return withEach(i -> function.apply(get(i)));
     }
@@ -125,8 +317,70 @@ public abstract class Vector {
         forEach(i -> biConsumer.accept(i, get(i)));
     }
 
+    public Vector fill(float value) {
+        for (int i = 0; i < size(); i++) {
+            values[i] = value;
+        }
+
+        return this;
+    }
+
+    /**
+     * In-place version of {@link #sub(Vector)} that writes into result instead of allocating a new vector
+     *
+     * @param result vector of the same size, may be this or v
+     * @return result
+     */
+    public Vector sub(Vector v, Vector result) {
+        check(v.size());
+        result.check(size());
+
+        for (int i = 0; i < size(); i++) {
+            result.values[i] = values[i] - v.get(i);
+        }
+
+        return result;
+    }
+
+    /**
+     * In-place version of {@link #mult(float)} that writes into result instead of allocating a new vector
+     *
+     * @param result vector of the same size, may be this
+     * @return result
+     */
+    public Vector mult(float factor, Vector result) {
+        result.check(size());
+
+        for (int i = 0; i < size(); i++) {
+            result.values[i] = values[i] * factor;
+        }
+
+        return result;
+    }
+
+    /**
+     * In-place version of {@code add(v.mult(factor))}
+     */
+    public void addScaled(Vector v, float factor) {
+        check(v.size());
+
+        for (int i = 0; i < size(); i++) {
+            values[i] += factor * v.get(i);
+        }
+    }
+
+    /**
+     * Uses the generator of the calling thread, see {@link Randoms#current()}
+     */
     public Vector fillWithRandomValues(float min, float maxExclusive) {
-        setEach(_ -> Brain.RANDOM.nextFloat(maxExclusive - min) + min);
+        return fillWithRandomValues(min, maxExclusive, Randoms.current());
+    }
+
+    public Vector fillWithRandomValues(float min, float maxExclusive, RandomGenerator random) {
+        for (int i = 0; i < size(); i++) {
+            values[i] = random.nextFloat(min, maxExclusive);
+        }
+
         return this;
     }
 
@@ -0,0 +1,89 @@
+package brain.misc;
+
+/**
+ * @param confusionMatrix confusionMatrix[label][prediction] is the amount of examples of class label that have been
+ *                        classified as prediction
+ * @param loss            mean loss of the examples with one-hot targets
+ * @param nanos           time the evaluation took
+ * @since 19.10.2026, Mo.
+ */
+public record EvaluationReport(int[][] confusionMatrix, float loss, long nanos) {
+
+    public int classes() {
+        return confusionMatrix.length;
+    }
+
+    public int examples() {
+        int examples = 0;
+
+        for (int[] row : confusionMatrix) {
+            for (int count : row) {
+                examples += count;
+            }
+        }
+
+        return examples;
+    }
+
+    public int correct() {
+        int correct = 0;
+
+        for (int c = 0; c < classes(); c++) {
+            correct += confusionMatrix[c][c];
+        }
+
+        return correct;
+    }
+
+    public float accuracy() {
+        int examples = examples();
+        return (examples == 0) ? 0.0f : (float) correct() / examples;
+    }
+
+    /**
+     * @return fraction of the examples classified as c that really are of class c
+     */
+    public float precision(int c) {
+        int predicted = 0;
+
+        for (int[] row : confusionMatrix) {
+            predicted += row[c];
+        }
+
+        return (predicted == 0) ? 0.0f : (float) confusionMatrix[c][c] / predicted;
+    }
+
+    /**
+     * @return fraction of the examples of class c that have been classified as c
+     */
+    public float recall(int c) {
+        int actual = 0;
+
+        for (int count : confusionMatrix[c]) {
+            actual += count;
+        }
+
+        return (actual == 0) ? 0.0f : (float) confusionMatrix[c][c] / actual;
+    }
+
+    public double examplesPerSecond() {
+        return (nanos == 0) ? 0.0 : examples() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        sb.append(STR."Accuracy: \{accuracy()}, loss: \{loss}, \{Math.round(examplesPerSecond())} examples/s\n");
+
+        for (int[] row : confusionMatrix) {
+            for (int count : row) {
+                sb.append(count).append('\t');
+            }
+
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+
+}
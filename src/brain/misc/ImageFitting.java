@@ -0,0 +1,184 @@
+package brain.misc;
+
+import brain.domain.Predictor;
+import brain.math.Vector;
+
+import java.awt.image.BufferedImage;
+import java.util.function.Function;
+
+/**
+ * Helpers to fit an image with a brain: input (x, y) encoded as Fourier series, output (r, g, b)
+ *
+ * @since 19.10.2026, Mo.
+ */
+public final class ImageFitting {
+
+    private static final float TWO_PI = (float) (2.0 * Math.PI);
+
+    private ImageFitting() {
+    }
+
+    /**
+     * @param x in [0, 1)
+     * @param y in [0, 1)
+     * @return sin and cos of x and y with the frequencies 1 to order (4 * order values)
+     */
+    public static float[] fourierSeries(int order, float x, float y) {
+        return fourierSeries(order, order, x, y);
+    }
+
+    /**
+     * Same size as {@code fourierSeries(order, x, y)}, but the frequencies above activeOrder are 0,
+     * so a brain can be trained on the low frequencies first and keep its weights when more are activated
+     */
+    public static float[] fourierSeries(int order, int activeOrder, float x, float y) {
+        float[] series = new float[order * 4];
+        x *= TWO_PI;
+        y *= TWO_PI;
+
+        for (int i = 0; i < Math.min(order, activeOrder); i++) {
+            series[i * 4] = (float) Math.sin(x * (i + 1));
+            series[i * 4 + 1] = (float) Math.cos(x * (i + 1));
+            series[i * 4 + 2] = (float) Math.sin(y * (i + 1));
+            series[i * 4 + 3] = (float) Math.cos(y * (i + 1));
+        }
+
+        return series;
+    }
+
+    /**
+     * @param vectorOf e.g. CpuVector::of
+     * @return one example per pixel (row by row)
+     */
+    public static TrainingExample[] trainingExamples(BufferedImage image, int order, Function<float[], Vector> vectorOf) {
+        return trainingExamples(image, 1, order, order, vectorOf);
+    }
+
+    /**
+     * @param downsampling every block of downsampling * downsampling pixels is averaged into one example,
+     *                     located at the center of the block
+     * @param activeOrder  see {@link #fourierSeries(int, int, float, float)}
+     * @return one example per block (row by row)
+     */
+    public static TrainingExample[] trainingExamples(BufferedImage image,
+                                                     int downsampling,
+                                                     int order,
+                                                     int activeOrder,
+                                                     Function<float[], Vector> vectorOf) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int cols = (width + downsampling - 1) / downsampling;
+        int rows = (height + downsampling - 1) / downsampling;
+        var trainingExamples = new TrainingExample[cols * rows];
+
+        for (int bj = 0; bj < rows; bj++) {
+            for (int bi = 0; bi < cols; bi++) {
+                float[] rgb = new float[3];
+                int pixels = 0;
+
+                for (int j = bj * downsampling; j < Math.min((bj + 1) * downsampling, height); j++) {
+                    for (int i = bi * downsampling; i < Math.min((bi + 1) * downsampling, width); i++) {
+                        int color = image.getRGB(i, j);
+                        rgb[0] += (color >> 16 & 0xFF) / 255.0f;
+                        rgb[1] += (color >> 8 & 0xFF) / 255.0f;
+                        rgb[2] += (color & 0xFF) / 255.0f;
+                        pixels++;
+                    }
+                }
+
+                for (int c = 0; c < 3; c++) {
+                    rgb[c] /= pixels;
+                }
+
+                // Center of the block in the coordinates of the full image (x = i / width for pixel i)
+                float x = (bi * downsampling + (Math.min(downsampling, width - bi * downsampling) - 1) / 2.0f) / width;
+                float y = (bj * downsampling + (Math.min(downsampling, height - bj * downsampling) - 1) / 2.0f) / height;
+                trainingExamples[bj * cols + bi] = new TrainingExample(
+                        vectorOf.apply(fourierSeries(order, activeOrder, x, y)),
+                        vectorOf.apply(rgb)
+                );
+            }
+        }
+
+        return trainingExamples;
+    }
+
+    /**
+     * @return one example per pixel (row by row) with the plain coordinates x and y in [0, 1) as input,
+     * e.g. for a {@link brain.domain.HashGridBrain}
+     */
+    public static TrainingExample[] coordinateExamples(BufferedImage image, Function<float[], Vector> vectorOf) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        var trainingExamples = new TrainingExample[width * height];
+
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                int color = image.getRGB(i, j);
+                trainingExamples[j * width + i] = new TrainingExample(
+                        vectorOf.apply(new float[]{(float) i / width, (float) j / height}),
+                        vectorOf.apply(new float[]{(color >> 16 & 0xFF) / 255.0f, (color >> 8 & 0xFF) / 255.0f, (color & 0xFF) / 255.0f})
+                );
+            }
+        }
+
+        return trainingExamples;
+    }
+
+    /**
+     * Peak signal-to-noise ratio of the prediction of every pixel, 10 * log10(1 / MSE) with colors in [0, 1]
+     */
+    public static double psnr(Predictor predictor, BufferedImage image, int order, Function<float[], Vector> vectorOf) {
+        return psnr(predictor, trainingExamples(image, order, vectorOf));
+    }
+
+    /**
+     * @param trainingExamples one example per pixel with r, g and b as target
+     * @see #psnr(Predictor, BufferedImage, int, Function)
+     */
+    public static double psnr(Predictor predictor, TrainingExample[] trainingExamples) {
+        double squaredError = 0.0;
+
+        for (var trainingExample : trainingExamples) {
+            var output = predictor.predict(trainingExample.input());
+
+            for (int c = 0; c < 3; c++) {
+                float diff = Math.clamp(output.get(c), 0.0f, 1.0f) - trainingExample.target().get(c);
+                squaredError += diff * diff;
+            }
+        }
+
+        double mse = squaredError / (3.0 * trainingExamples.length);
+        return 10.0 * Math.log10(1.0 / Math.max(mse, 1e-12));
+    }
+
+    /**
+     * Predicts every pixel, the predictor is only called from the calling thread
+     */
+    public static BufferedImage render(Predictor predictor, int width, int height, int order, Function<float[], Vector> vectorOf) {
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        for (int j = 0; j < height; j++) {
+            float y = (float) j / height;
+
+            for (int i = 0; i < width; i++) {
+                float x = (float) i / width;
+                var output = predictor.predict(vectorOf.apply(fourierSeries(order, x, y)));
+                image.setRGB(i, j, rgb(output));
+            }
+        }
+
+        return image;
+    }
+
+    /**
+     * @param output r, g and b in [0, 1] (clamped)
+     */
+    public static int rgb(Vector output) {
+        int r = Math.clamp(Math.round(output.get(0) * 255.0f), 0, 255);
+        int g = Math.clamp(Math.round(output.get(1) * 255.0f), 0, 255);
+        int b = Math.clamp(Math.round(output.get(2) * 255.0f), 0, 255);
+        return r << 16 | g << 8 | b;
+    }
+
+}
@@ -0,0 +1,21 @@
+package brain.misc;
+
+/**
+ * @param requests           amount of predictions that have been completed
+ * @param batches            amount of batches that have been run
+ * @param p50LatencyNanos    median time between submitting a request and its completion
+ * @param p99LatencyNanos    99th percentile of the time between submitting a request and its completion
+ * @param batchSizeHistogram batchSizeHistogram[n] is the amount of batches that contained n requests
+ * @since 19.10.2026, Mo.
+ */
+public record InferenceStatistics(long requests,
+                                  long batches,
+                                  long p50LatencyNanos,
+                                  long p99LatencyNanos,
+                                  long[] batchSizeHistogram) {
+
+    public float meanBatchSize() {
+        return (batches == 0) ? 0.0f : (float) requests / batches;
+    }
+
+}
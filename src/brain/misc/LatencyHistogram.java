@@ -0,0 +1,83 @@
+package brain.misc;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram with logarithmic buckets (4 buckets per power of two, so percentiles are
+ * accurate to about 19%) for values from 1 to 2^62, e.g. latencies in nanoseconds
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+
+    private final AtomicLongArray counts = new AtomicLongArray(63 * SUB_BUCKETS);
+
+    private static int bucket(long value) {
+        if (value <= 1) {
+            return 0;
+        }
+
+        int log2 = 63 - Long.numberOfLeadingZeros(value);
+        // The two bits after the leading one select the sub bucket
+        int sub = (log2 < 2) ? (int) (value << (2 - log2)) & 3 : (int) (value >>> (log2 - 2)) & 3;
+        return log2 * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return the largest value that falls into the given bucket
+     */
+    private static long upperBound(int bucket) {
+        int log2 = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        long lower = (1L << log2) + ((long) sub << log2) / SUB_BUCKETS;
+        return lower + Math.max(0, (1L << log2) / SUB_BUCKETS - 1);
+    }
+
+    public void record(long value) {
+        counts.incrementAndGet(bucket(value));
+    }
+
+    public long count() {
+        long count = 0;
+
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * @param percentile in [0, 100]
+     * @return upper bound of the bucket containing the percentile, 0 if nothing has been recorded
+     */
+    public long percentile(double percentile) {
+        long count = count();
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+
+        return upperBound(counts.length() - 1);
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+}
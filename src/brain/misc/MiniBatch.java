@@ -1,8 +1,9 @@
 package brain.misc;
 
-import java.util.Arrays;
+import brain.math.Randoms;
 
-import static brain.domain.Brain.RANDOM;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
 
 public class MiniBatch {
     private final TrainingExample[] trainingExamples;
@@ -19,10 +20,18 @@ public class MiniBatch {
      * @return shuffled array
      */
     public static <T> T[] shuffle(T[] array) {
+        return shuffle(array, Randoms.current());
+    }
+
+    /**
+     * @param random generator to shuffle with, e.g. {@link Randoms#of(long...)} for a reproducible order
+     * @see #shuffle(Object[])
+     */
+    public static <T> T[] shuffle(T[] array, RandomGenerator random) {
         T[] arr = array.clone();
 
         for (int i = arr.length - 1; i >= 1; i--) {
-            int idx = RANDOM.nextInt(i + 1);
+            int idx = random.nextInt(i + 1);
             T temp = arr[idx];
             arr[idx] = arr[i];
             arr[i] = temp;
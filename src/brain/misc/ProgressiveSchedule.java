@@ -0,0 +1,108 @@
+package brain.misc;
+
+import brain.domain.Brain;
+import brain.math.Vector;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Coarse-to-fine image fitting: the first stages train on a downsampled image with only the low Fourier
+ * frequencies, later stages increase the resolution and activate higher frequencies<br>
+ * The brain and its input size stay the same for all stages (inactive frequencies are 0, see
+ * {@link ImageFitting#fourierSeries(int, int, float, float)}), so every stage continues with the weights of the
+ * previous one. A downsampled stage costs 1 / downsampling² of a full resolution epoch.
+ *
+ * @param stages trained in this order
+ * @since 19.10.2026, Mo.
+ */
+public record ProgressiveSchedule(Stage... stages) {
+
+    /**
+     * @param downsampling size of the pixel blocks that are averaged into one example (1 = full resolution)
+     * @param activeOrder  highest active Fourier frequency
+     * @param epochs       amount of epochs trained in this stage
+     */
+    public record Stage(int downsampling, int activeOrder, int epochs) {
+
+        public Stage {
+            if (downsampling < 1 || activeOrder < 1 || epochs < 0) {
+                throw new IllegalArgumentException(STR."Invalid stage: \{downsampling}:\{activeOrder}:\{epochs}");
+            }
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface EpochListener {
+
+        void epochFinished(Stage stage, int epoch, float loss);
+
+    }
+
+    /**
+     * @param levels amount of stages, the downsampling halves and the active order grows linearly from stage to stage
+     * @return e.g. for 3 levels and order 8: 4:3, 2:6, 1:8
+     */
+    public static ProgressiveSchedule halving(int levels, int order, int epochsPerStage) {
+        var stages = new Stage[levels];
+
+        for (int k = 0; k < levels; k++) {
+            int activeOrder = (int) Math.ceil((double) order * (k + 1) / levels);
+            stages[k] = new Stage(1 << (levels - 1 - k), activeOrder, epochsPerStage);
+        }
+
+        return new ProgressiveSchedule(stages);
+    }
+
+    /**
+     * @param stages e.g. "4:2:10,2:4:10,1:8:20" (downsampling:activeOrder:epochs)
+     */
+    public static ProgressiveSchedule parse(String stages) {
+        return new ProgressiveSchedule(Arrays.stream(stages.split(","))
+                .map(stage -> {
+                    String[] parts = stage.trim().split(":");
+
+                    if (parts.length != 3) {
+                        throw new IllegalArgumentException(STR."Expected downsampling:activeOrder:epochs\nActual: \{stage}");
+                    }
+
+                    return new Stage(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                })
+                .toArray(Stage[]::new));
+    }
+
+    /**
+     * @return total amount of examples trained, measured in full resolution epochs
+     */
+    public double cost() {
+        return Arrays.stream(stages)
+                .mapToDouble(stage -> (double) stage.epochs() / (stage.downsampling() * stage.downsampling()))
+                .sum();
+    }
+
+    /**
+     * @param order Fourier order of the brain's input layer (input size = 4 * order)
+     * @return loss of the last epoch
+     */
+    public float train(Brain brain,
+                       BufferedImage image,
+                       int order,
+                       Function<float[], Vector> vectorOf,
+                       EpochListener listener) {
+        float loss = Float.NaN;
+
+        for (Stage stage : stages) {
+            var trainingExamples = ImageFitting.trainingExamples(image, stage.downsampling(), order, stage.activeOrder(), vectorOf);
+
+            for (int epoch = 1; epoch <= stage.epochs(); epoch++) {
+                loss = brain.train(trainingExamples);
+                listener.epochFinished(stage, epoch, loss);
+            }
+        }
+
+        return loss;
+    }
+
+}
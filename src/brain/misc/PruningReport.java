@@ -0,0 +1,23 @@
+package brain.misc;
+
+/**
+ * @param targetSparsity fraction of weights that should have been removed
+ * @param actualSparsity fraction of weights that are zero after pruning
+ * @param accuracyBefore accuracy before pruning
+ * @param accuracyAfter  accuracy after pruning
+ * @param denseBytes     size of the dense weights
+ * @param sparseBytes    size of the CSR weights
+ * @since 19.10.2026, Mo.
+ */
+public record PruningReport(float targetSparsity,
+                            float actualSparsity,
+                            float accuracyBefore,
+                            float accuracyAfter,
+                            long denseBytes,
+                            long sparseBytes) {
+
+    public float accuracyDrop() {
+        return accuracyBefore - accuracyAfter;
+    }
+
+}
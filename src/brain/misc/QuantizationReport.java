@@ -0,0 +1,23 @@
+package brain.misc;
+
+/**
+ * @param floatAccuracy     accuracy of the original float brain
+ * @param quantizedAccuracy accuracy of the int8 brain
+ * @param agreement         fraction of inputs for which both brains predict the same argmax
+ * @param maxAbsoluteError  largest absolute difference of a single output between both brains
+ * @param floatBytes        size of the float parameters
+ * @param quantizedBytes    size of the int8 parameters including scales and biases
+ * @since 19.10.2026, Mo.
+ */
+public record QuantizationReport(float floatAccuracy,
+                                 float quantizedAccuracy,
+                                 float agreement,
+                                 float maxAbsoluteError,
+                                 long floatBytes,
+                                 long quantizedBytes) {
+
+    public float compressionRatio() {
+        return (float) floatBytes / quantizedBytes;
+    }
+
+}
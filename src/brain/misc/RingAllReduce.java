@@ -0,0 +1,347 @@
+package brain.misc;
+
+import lombok.Getter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+
+/**
+ * Ring all-reduce between worldSize processes (bandwidth optimal, every process sends 2 * (n - 1) / n of the data)<br>
+ * Every rank listens on its own address and connects to the address of the next rank, so the ranks form a ring.
+ * The data is split into n chunks: during reduce-scatter each chunk travels once around the ring and is summed up,
+ * during all-gather the complete chunks travel around once more. Works with TCP ({@link InetSocketAddress})
+ * and Unix domain sockets ({@link UnixDomainSocketAddress}).<br>
+ * Optionally the values are sent as 16-bit floats, which halves the traffic. The sums are still calculated with
+ * 32-bit floats, only the transmitted values are rounded (equally on all ranks, so the results stay identical).
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class RingAllReduce implements AutoCloseable {
+
+    private static final long CONNECT_TIMEOUT_MILLIS = 30_000;
+
+    @Getter
+    private final int rank;
+
+    @Getter
+    private final int worldSize;
+
+    private final boolean halfPrecision;
+
+    private final SocketAddress address;
+
+    private final ServerSocketChannel server;
+
+    private final SocketChannel next;
+
+    private final SocketChannel previous;
+
+    private final Selector selector;
+
+    private ByteBuffer sendBuffer = ByteBuffer.allocateDirect(0);
+
+    private ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(0);
+
+    /**
+     * -- GETTER --
+     * Total amount of payload bytes sent to the next rank
+     */
+    @Getter
+    private long bytesSent;
+
+    /**
+     * Blocks until the ring is connected, all ranks have to be started within {@link #CONNECT_TIMEOUT_MILLIS}
+     *
+     * @param rank          index of this process in addresses
+     * @param addresses     listening addresses of all ranks (same array on every rank)
+     * @param halfPrecision send 16-bit instead of 32-bit floats
+     */
+    public RingAllReduce(int rank, SocketAddress[] addresses, boolean halfPrecision) throws IOException {
+        if (rank < 0 || rank >= addresses.length) {
+            throw new IllegalArgumentException(STR."Expected 'rank' to be in [0, \{addresses.length})\nActual: \{rank}");
+        }
+
+        this.rank = rank;
+        this.worldSize = addresses.length;
+        this.halfPrecision = halfPrecision;
+        this.address = addresses[rank];
+
+        if (worldSize == 1) {
+            server = null;
+            next = null;
+            previous = null;
+            selector = null;
+            return;
+        }
+
+        if (address instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+        }
+
+        server = openServer(address).bind(address);
+        next = connect(addresses[(rank + 1) % worldSize]);
+        previous = server.accept();
+
+        var handshake = ByteBuffer.allocate(Integer.BYTES);
+        readFully(previous, handshake);
+        int previousRank = handshake.flip().getInt();
+
+        if (previousRank != (rank + worldSize - 1) % worldSize) {
+            throw new IOException(STR."Expected rank \{(rank + worldSize - 1) % worldSize} to connect\nActual: \{previousRank}");
+        }
+
+        selector = Selector.open();
+        next.configureBlocking(false);
+        previous.configureBlocking(false);
+        next.register(selector, SelectionKey.OP_WRITE);
+        previous.register(selector, SelectionKey.OP_READ);
+    }
+
+    /**
+     * @return one TCP address per rank on the loopback interface, using consecutive ports
+     */
+    public static SocketAddress[] localAddresses(int firstPort, int worldSize) {
+        var addresses = new SocketAddress[worldSize];
+
+        for (int i = 0; i < worldSize; i++) {
+            addresses[i] = new InetSocketAddress(InetAddress.getLoopbackAddress(), firstPort + i);
+        }
+
+        return addresses;
+    }
+
+    /**
+     * @return one TCP address per rank on the loopback interface, using ports that were free when this method was
+     * called (the ports are released again, so another process could still take them before the ring binds them)
+     */
+    public static SocketAddress[] localAddresses(int worldSize) throws IOException {
+        var addresses = new SocketAddress[worldSize];
+        var sockets = new ServerSocket[worldSize];
+
+        try {
+            // All sockets stay open until every port is known, so no port is returned twice
+            for (int i = 0; i < worldSize; i++) {
+                sockets[i] = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+                addresses[i] = new InetSocketAddress(InetAddress.getLoopbackAddress(), sockets[i].getLocalPort());
+            }
+        } finally {
+            for (ServerSocket socket : sockets) {
+                if (socket != null) {
+                    socket.close();
+                }
+            }
+        }
+
+        return addresses;
+    }
+
+    private static ServerSocketChannel openServer(SocketAddress address) throws IOException {
+        return (address instanceof UnixDomainSocketAddress)
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+    }
+
+    private static SocketChannel openChannel(SocketAddress address) throws IOException {
+        return (address instanceof UnixDomainSocketAddress)
+                ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                : SocketChannel.open();
+    }
+
+    /**
+     * Retries until the next rank listens, then tells it which rank connected
+     */
+    private SocketChannel connect(SocketAddress nextAddress) throws IOException {
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+
+        while (true) {
+            var channel = openChannel(nextAddress);
+
+            try {
+                channel.connect(nextAddress);
+
+                if (nextAddress instanceof InetSocketAddress) {
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                }
+
+                var handshake = ByteBuffer.allocate(Integer.BYTES).putInt(rank).flip();
+
+                while (handshake.hasRemaining()) {
+                    channel.write(handshake);
+                }
+
+                return channel;
+            } catch (IOException e) {
+                channel.close();
+
+                if (System.currentTimeMillis() > deadline) {
+                    throw e;
+                }
+
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while connecting to the next rank");
+                }
+            }
+        }
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Previous rank closed the connection");
+            }
+        }
+    }
+
+    /**
+     * Replaces every value of data with the sum of this value over all ranks<br>
+     * Has to be called by all ranks with arrays of the same length
+     */
+    public void allReduce(float[] data) {
+        allReduce(data, halfPrecision);
+    }
+
+    /**
+     * Same as {@link #allReduce(float[])}, but always sends 32-bit floats, e.g. for weights or counts that must not
+     * be rounded
+     */
+    public void allReduceFullPrecision(float[] data) {
+        allReduce(data, false);
+    }
+
+    private void allReduce(float[] data, boolean halfPrecision) {
+        if (worldSize == 1) {
+            return;
+        }
+
+        try {
+            allocate(chunkStart(data.length, 1) + 1, halfPrecision);
+
+            // Reduce-scatter: afterwards this rank holds the complete sum of chunk rank + 1
+            for (int s = 0; s < worldSize - 1; s++) {
+                int send = Math.floorMod(rank - s, worldSize);
+                int receive = Math.floorMod(rank - s - 1, worldSize);
+                int from = chunkStart(data.length, receive);
+                int to = chunkStart(data.length, receive + 1);
+                exchange(data, chunkStart(data.length, send), chunkStart(data.length, send + 1), to - from, halfPrecision);
+
+                for (int i = from; i < to; i++) {
+                    data[i] += decode(halfPrecision);
+                }
+            }
+
+            if (halfPrecision) {
+                // The other ranks only receive the rounded values of this chunk
+                int owned = (rank + 1) % worldSize;
+
+                for (int i = chunkStart(data.length, owned); i < chunkStart(data.length, owned + 1); i++) {
+                    data[i] = Float.float16ToFloat(Float.floatToFloat16(data[i]));
+                }
+            }
+
+            // All-gather
+            for (int s = 0; s < worldSize - 1; s++) {
+                int send = Math.floorMod(rank + 1 - s, worldSize);
+                int receive = Math.floorMod(rank - s, worldSize);
+                int from = chunkStart(data.length, receive);
+                int to = chunkStart(data.length, receive + 1);
+                exchange(data, chunkStart(data.length, send), chunkStart(data.length, send + 1), to - from, halfPrecision);
+
+                for (int i = from; i < to; i++) {
+                    data[i] = decode(halfPrecision);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int chunkStart(int length, int chunk) {
+        return (int) ((long) length * chunk / worldSize);
+    }
+
+    private static int bytesPerValue(boolean halfPrecision) {
+        return halfPrecision ? Short.BYTES : Float.BYTES;
+    }
+
+    /**
+     * Grows the direct buffers if a chunk might not fit
+     */
+    private void allocate(int maxChunkLength, boolean halfPrecision) {
+        int capacity = maxChunkLength * bytesPerValue(halfPrecision);
+
+        if (sendBuffer.capacity() < capacity) {
+            sendBuffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+            receiveBuffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Sends data[from..to) to the next rank while receiving receiveLength values from the previous rank<br>
+     * Both happen at the same time, otherwise all ranks could block on a full socket buffer
+     */
+    private void exchange(float[] data, int from, int to, int receiveLength, boolean halfPrecision) throws IOException {
+        sendBuffer.clear();
+
+        for (int i = from; i < to; i++) {
+            if (halfPrecision) {
+                sendBuffer.putShort(Float.floatToFloat16(data[i]));
+            } else {
+                sendBuffer.putFloat(data[i]);
+            }
+        }
+
+        sendBuffer.flip();
+        receiveBuffer.clear().limit(receiveLength * bytesPerValue(halfPrecision));
+        bytesSent += sendBuffer.remaining();
+        var nextKey = next.keyFor(selector);
+        var previousKey = previous.keyFor(selector);
+
+        while (sendBuffer.hasRemaining() || receiveBuffer.hasRemaining()) {
+            nextKey.interestOps(sendBuffer.hasRemaining() ? SelectionKey.OP_WRITE : 0);
+            previousKey.interestOps(receiveBuffer.hasRemaining() ? SelectionKey.OP_READ : 0);
+            selector.select();
+            selector.selectedKeys().clear();
+
+            if (sendBuffer.hasRemaining()) {
+                next.write(sendBuffer);
+            }
+
+            if (receiveBuffer.hasRemaining() && previous.read(receiveBuffer) < 0) {
+                throw new EOFException("Previous rank closed the connection");
+            }
+        }
+
+        receiveBuffer.flip();
+    }
+
+    private float decode(boolean halfPrecision) {
+        return halfPrecision ? Float.float16ToFloat(receiveBuffer.getShort()) : receiveBuffer.getFloat();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (worldSize == 1) {
+            return;
+        }
+
+        try (server; next; previous; selector) {
+            if (address instanceof UnixDomainSocketAddress unix) {
+                Files.deleteIfExists(unix.getPath());
+            }
+        }
+    }
+
+}
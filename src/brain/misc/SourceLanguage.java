@@ -0,0 +1,194 @@
+package brain.misc;
+
+import brain.math.ActivationFunction;
+
+import java.util.StringJoiner;
+
+/**
+ * Syntax of the languages that {@link brain.domain.Brain#generateSourceCode(SourceLanguage)} can emit<br>
+ * GLSL and C keep every activation in its own local variable. Java stores them in arrays and splits every layer
+ * into methods of at most {@link #MAX_TERMS_PER_METHOD} terms: a single unrolled 128x128 layer is about 110KB of
+ * bytecode, far more than the 64KB the JVM allows per method. Each term costs about 7 bytes, so the chunks also
+ * stay below the 8000 bytes above which HotSpot does not JIT-compile a method.<br>
+ * Every distinct weight is a constant of the generated class and a class has at most 65535 constants, larger Java
+ * brains have to use {@link brain.domain.BrainCompiler}, which keeps the weights in arrays.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public enum SourceLanguage {
+
+    GLSL("", "exp", "tanh", "max"),
+    C("f", "expf", "tanhf", "fmaxf"),
+    JAVA("f", "(float) Math.exp", "(float) Math.tanh", "Math.max");
+
+    /**
+     * Generated terms (weights that are not zero plus the bias) per Java method
+     */
+    public static final int MAX_TERMS_PER_METHOD = 512;
+
+    private final String floatSuffix;
+
+    private final String exp;
+
+    private final String tanh;
+
+    private final String max;
+
+    SourceLanguage(String floatSuffix, String exp, String tanh, String max) {
+        this.floatSuffix = floatSuffix;
+        this.exp = exp;
+        this.tanh = tanh;
+        this.max = max;
+    }
+
+    public boolean isSplitIntoLayers() {
+        return this == JAVA;
+    }
+
+    public String literal(float x) {
+        if (!Float.isFinite(x)) {
+            throw new IllegalArgumentException(STR."Cannot generate source code for the value \{x}");
+        }
+
+        return Float.toString(x) + floatSuffix;
+    }
+
+    /**
+     * @return how the activation of neuron j in layer i is referenced
+     */
+    public String activation(int i, int j) {
+        return isSplitIntoLayers() ? STR."a\{i}[\{j}]" : STR."a\{i}_\{j}";
+    }
+
+    public String input(int j) {
+        return STR."inputs[\{j}]";
+    }
+
+    public String assignActivation(int i, int j, String expression) {
+        return isSplitIntoLayers()
+                ? STR."\{activation(i, j)} = \{expression};"
+                : STR."float \{activation(i, j)} = \{expression};";
+    }
+
+    public String declare(String name, String expression) {
+        return STR."float \{name} = \{expression};";
+    }
+
+    /**
+     * @param x expression that may be evaluated more than once
+     */
+    public String apply(ActivationFunction activationFunction, String x) {
+        String one = literal(1.0f);
+        String zero = literal(0.0f);
+
+        return switch (activationFunction) {
+            case LINEAR -> x;
+            case SIGMOID -> STR."\{one} / (\{one} + \{exp}(-\{x}))";
+            case TANH -> STR."\{tanh}(\{x})";
+            case RELU -> STR."\{max}(\{x}, \{zero})";
+            case LRELU -> STR."\{x} * ((\{x} <= \{zero}) ? \{literal(0.5f)} : \{one})";
+            case ELU -> STR."(\{x} < \{zero}) ? \{exp}(\{x}) - \{one} : \{x}";
+        };
+    }
+
+    /**
+     * @param chunks  number of methods per layer, only used by Java
+     * @param softmax whether the outputs are softmax of the output activations (see {@link brain.math.LossFunction#output(brain.math.Vector)})
+     */
+    public String header(int inputs, int outputs, int[] layerSizes, int[] chunks, boolean softmax) {
+        return switch (this) {
+            case GLSL -> STR."void brain(float inputs[\{inputs}], out float outputs[\{outputs}]) {\n";
+            case C -> STR."void brain(const float inputs[\{inputs}], float outputs[\{outputs}]) {\n";
+            case JAVA -> {
+                var sb = new StringBuilder("public final class GeneratedBrain {\n\n");
+                sb.append("    public static void predict(float[] inputs, float[] outputs) {\n");
+
+                for (int i = 0; i < layerSizes.length; i++) {
+                    sb.append(STR."        float[] a\{i} = new float[\{layerSizes[i]}];\n");
+                }
+
+                for (int i = 0; i < layerSizes.length; i++) {
+                    String previous = (i == 0) ? "inputs" : STR."a\{i - 1}";
+
+                    for (int c = 0; c < chunks[i]; c++) {
+                        sb.append(STR."        layer\{i}_\{c}(\{previous}, a\{i});\n");
+                    }
+                }
+
+                sb.append(outputs(layerSizes.length - 1, outputs, softmax));
+                sb.append("    }\n\n");
+                yield sb.toString();
+            }
+        };
+    }
+
+    /**
+     * @param c index of the chunk (method) of layer i
+     */
+    public String layerHeader(int i, int c) {
+        if (!isSplitIntoLayers()) {
+            return "";
+        }
+
+        return (i == 0)
+                ? STR."    private static void layer0_\{c}(float[] inputs, float[] a0) {\n"
+                : STR."    private static void layer\{i}_\{c}(float[] a\{i - 1}, float[] a\{i}) {\n";
+    }
+
+    public String layerFooter() {
+        return isSplitIntoLayers() ? "    }\n\n" : "";
+    }
+
+    public String indentation() {
+        return isSplitIntoLayers() ? "        " : "    ";
+    }
+
+    /**
+     * @param outputLayer index of the output layer
+     */
+    public String footer(int outputLayer, int outputs, boolean softmax) {
+        if (isSplitIntoLayers()) {
+            return "}\n";
+        }
+
+        return outputs(outputLayer, outputs, softmax) + "}\n";
+    }
+
+    /**
+     * Softmax is unrolled like the layers, subtracting the maximum prevents overflow
+     */
+    private String outputs(int outputLayer, int outputs, boolean softmax) {
+        var sb = new StringBuilder();
+        String indentation = indentation();
+
+        if (!softmax) {
+            for (int j = 0; j < outputs; j++) {
+                sb.append(indentation).append(STR."outputs[\{j}] = \{activation(outputLayer, j)};\n");
+            }
+
+            return sb.toString();
+        }
+
+        sb.append(indentation).append(declare("maximum", activation(outputLayer, 0))).append('\n');
+
+        for (int j = 1; j < outputs; j++) {
+            sb.append(indentation).append(STR."maximum = \{max}(maximum, \{activation(outputLayer, j)});\n");
+        }
+
+        var sum = new StringJoiner(" + ");
+
+        for (int j = 0; j < outputs; j++) {
+            sb.append(indentation).append(declare(STR."e\{j}", STR."\{exp}(\{activation(outputLayer, j)} - maximum)")).append('\n');
+            sum.add(STR."e\{j}");
+        }
+
+        sb.append(indentation).append(declare("sum", sum.toString())).append('\n');
+
+        for (int j = 0; j < outputs; j++) {
+            sb.append(indentation).append(STR."outputs[\{j}] = e\{j} / sum;\n");
+        }
+
+        return sb.toString();
+    }
+
+}
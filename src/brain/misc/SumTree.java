@@ -0,0 +1,85 @@
+package brain.misc;
+
+/**
+ * Binary tree whose leaves hold non-negative weights and whose inner nodes hold the sum of their children<br>
+ * Updating a weight and sampling an index proportional to its weight both take O(log n).
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class SumTree {
+
+    private final int size;
+
+    /**
+     * Leaf count rounded up to a power of two
+     */
+    private final int capacity;
+
+    /**
+     * nodes[1] is the root, the children of node k are 2k and 2k + 1, the leaves start at capacity
+     */
+    private final double[] nodes;
+
+    public SumTree(int size) {
+        this.size = size;
+        this.capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.nodes = new double[2 * capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double total() {
+        return nodes[1];
+    }
+
+    public double get(int i) {
+        checkIndex(i);
+        return nodes[capacity + i];
+    }
+
+    public void set(int i, double weight) {
+        checkIndex(i);
+
+        if (weight < 0 || Double.isNaN(weight)) {
+            throw new IllegalArgumentException(STR."Expected 'weight' to be non-negative\nActual: \{weight}");
+        }
+
+        int k = capacity + i;
+        nodes[k] = weight;
+
+        for (k >>= 1; k >= 1; k >>= 1) {
+            nodes[k] = nodes[2 * k] + nodes[2 * k + 1];
+        }
+    }
+
+    /**
+     * The leaves in [size, capacity) have to stay 0, otherwise they would be part of the total
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IllegalArgumentException(STR."Expected 'i' to be in [0, \{size})\nActual: \{i}");
+        }
+    }
+
+    /**
+     * @param u in [0, total())
+     * @return index i with prefixSum(i) <= u < prefixSum(i + 1)
+     */
+    public int find(double u) {
+        int k = 1;
+
+        while (k < capacity) {
+            if (u < nodes[2 * k] || nodes[2 * k + 1] == 0.0) {
+                k = 2 * k;
+            } else {
+                u -= nodes[2 * k];
+                k = 2 * k + 1;
+            }
+        }
+
+        return Math.min(k - capacity, size - 1);
+    }
+
+}
@@ -0,0 +1,247 @@
+package brain.misc;
+
+import brain.domain.Brain;
+import brain.math.Vector;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fits a large image with many small independent brains, one per tile<br>
+ * Every tile trains on its own pixels (Fourier series of the coordinates relative to the tile) as one task of a
+ * work-stealing pool, so the tiles scale with the cores and the work grows linearly with the image size.
+ * A tile stops as soon as it converged, the threads then steal the remaining tiles.
+ * <p>
+ * Neighbouring tiles overlap by {@link #getOverlap()} pixels. In the overlap both predictions are blended with
+ * weights that fall off linearly towards the border of each tile, which hides the seams between the brains.
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class TiledImageFitting {
+
+    /**
+     * A tile stops when its loss improved by less than this fraction over {@link #PATIENCE} epochs
+     */
+    private static final float MIN_IMPROVEMENT = 0.01f;
+
+    private static final int PATIENCE = 5;
+
+    @Getter
+    private final int width;
+
+    @Getter
+    private final int height;
+
+    @Getter
+    private final int overlap;
+
+    private final int order;
+
+    private final Function<float[], Vector> vectorOf;
+
+    @Getter
+    private final List<Tile> tiles = new ArrayList<>();
+
+    /**
+     * Creates the brains of all tiles on the calling thread, so their initial weights do not depend on the pool
+     *
+     * @param tileSize     width and height of a tile without the overlap
+     * @param overlap      pixels every tile extends into its neighbours
+     * @param brainFactory creates the brain of one tile, input size 4 * order and 3 outputs
+     */
+    public TiledImageFitting(BufferedImage image,
+                             int tileSize,
+                             int overlap,
+                             int order,
+                             Supplier<Brain> brainFactory,
+                             Function<float[], Vector> vectorOf) {
+        if (tileSize < 1 || overlap < 0) {
+            throw new IllegalArgumentException(STR."Invalid tiles: size \{tileSize}, overlap \{overlap}");
+        }
+
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.overlap = overlap;
+        this.order = order;
+        this.vectorOf = vectorOf;
+
+        for (int y = 0; y < height; y += tileSize) {
+            for (int x = 0; x < width; x += tileSize) {
+                int x0 = Math.max(0, x - overlap);
+                int y0 = Math.max(0, y - overlap);
+                int x1 = Math.min(width, x + tileSize + overlap);
+                int y1 = Math.min(height, y + tileSize + overlap);
+                tiles.add(new Tile(x0, y0, x1 - x0, y1 - y0, brainFactory.get(), image.getSubimage(x0, y0, x1 - x0, y1 - y0)));
+            }
+        }
+    }
+
+    /**
+     * Trains every tile until it reaches the target loss, stops improving or trained maxEpochs epochs in total
+     * (so a later call with a higher maxEpochs continues the unconverged tiles)
+     */
+    public void train(int maxEpochs, float targetLoss, ForkJoinPool pool) {
+        var tasks = tiles.stream()
+                .map(tile -> new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        tile.train(maxEpochs, targetLoss);
+                    }
+                })
+                .toList();
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Predicts every tile in parallel and blends the overlaps
+     */
+    public BufferedImage render(ForkJoinPool pool) {
+        float[][] predictions = pool.submit(() -> tiles.parallelStream().map(Tile::predict).toArray(float[][]::new)).join();
+        float[] rgb = new float[width * height * 3];
+        float[] weights = new float[width * height];
+
+        for (int t = 0; t < tiles.size(); t++) {
+            var tile = tiles.get(t);
+
+            for (int j = 0; j < tile.height; j++) {
+                float wy = blendWeight(j, tile.height, tile.y > 0, tile.y + tile.height < height);
+
+                for (int i = 0; i < tile.width; i++) {
+                    float weight = wy * blendWeight(i, tile.width, tile.x > 0, tile.x + tile.width < width);
+                    int pixel = (tile.y + j) * width + tile.x + i;
+                    weights[pixel] += weight;
+
+                    for (int c = 0; c < 3; c++) {
+                        rgb[pixel * 3 + c] += weight * predictions[t][(j * tile.width + i) * 3 + c];
+                    }
+                }
+            }
+        }
+
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        for (int pixel = 0; pixel < weights.length; pixel++) {
+            int color = 0;
+
+            for (int c = 0; c < 3; c++) {
+                color = color << 8 | Math.clamp(Math.round(rgb[pixel * 3 + c] / weights[pixel] * 255.0f), 0, 255);
+            }
+
+            image.setRGB(pixel % width, pixel / width, color);
+        }
+
+        return image;
+    }
+
+    public boolean isConverged() {
+        return tiles.stream().allMatch(Tile::isConverged);
+    }
+
+    /**
+     * Linear ramp over the overlap on the sides that have a neighbour, 1 inside the tile
+     *
+     * @param i position of the pixel inside the tile
+     */
+    private float blendWeight(int i, int size, boolean neighbourBefore, boolean neighbourAfter) {
+        if (overlap == 0) {
+            return 1.0f;
+        }
+
+        float weight = 1.0f;
+
+        if (neighbourBefore) {
+            weight = Math.min(weight, (i + 0.5f) / (2 * overlap));
+        }
+
+        if (neighbourAfter) {
+            weight = Math.min(weight, (size - i - 0.5f) / (2 * overlap));
+        }
+
+        return weight;
+    }
+
+    @Getter
+    public class Tile {
+
+        private final int x;
+
+        private final int y;
+
+        private final int width;
+
+        private final int height;
+
+        private final Brain brain;
+
+        @Getter(AccessLevel.NONE)
+        private final TrainingExample[] trainingExamples;
+
+        private int epochs;
+
+        private float loss = Float.NaN;
+
+        private boolean converged;
+
+        @Getter(AccessLevel.NONE)
+        private final float[] history = new float[PATIENCE];
+
+        private Tile(int x, int y, int width, int height, Brain brain, BufferedImage image) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.brain = brain;
+            this.trainingExamples = ImageFitting.trainingExamples(image, order, vectorOf);
+        }
+
+        /**
+         * Only one thread trains a tile at a time
+         */
+        private void train(int maxEpochs, float targetLoss) {
+            while (epochs < maxEpochs && !converged) {
+                loss = brain.train(trainingExamples);
+                // Loss of PATIENCE epochs ago, overwritten with the current one
+                float before = history[epochs % PATIENCE];
+                boolean stalled = epochs >= PATIENCE && loss > before * (1 - MIN_IMPROVEMENT);
+                history[epochs % PATIENCE] = loss;
+                epochs++;
+                converged = loss <= targetLoss || stalled;
+            }
+        }
+
+        /**
+         * @return r, g and b of every pixel of the tile (row by row)
+         */
+        private float[] predict() {
+            float[] rgb = new float[width * height * 3];
+
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    var output = brain.predict(vectorOf.apply(ImageFitting.fourierSeries(order, (float) i / width, (float) j / height)));
+
+                    for (int c = 0; c < 3; c++) {
+                        rgb[(j * width + i) * 3 + c] = output.get(c);
+                    }
+                }
+            }
+
+            return rgb;
+        }
+
+    }
+
+}
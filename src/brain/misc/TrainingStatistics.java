@@ -0,0 +1,15 @@
+package brain.misc;
+
+/**
+ * @param examples amount of examples that have been trained
+ * @param nanos    time it took to train them
+ * @param loss     mean loss of the examples (measured while training)
+ * @since 19.10.2026, Mo.
+ */
+public record TrainingStatistics(int examples, long nanos, float loss) {
+
+    public double examplesPerSecond() {
+        return (nanos == 0) ? 0.0 : examples * 1e9 / nanos;
+    }
+
+}
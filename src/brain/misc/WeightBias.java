@@ -1,9 +1,13 @@
 package brain.misc;
 
 import brain.math.Matrix;
+import brain.math.SparseMatrix;
 import brain.math.Vector;
 import lombok.Getter;
 
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
 /**
  * 17.07.2022
  * Emilio Zottel
@@ -24,56 +28,122 @@ public class WeightBias {
         this.biases = biases;
     }
 
-    public static void add(WeightBias[] arr1, WeightBias[] arr2) {
-        int len = arr1.length;
+    public int inputs() {
+        return weights.cols;
+    }
+
+    public int outputs() {
+        return weights.rows;
+        //return biases.size();  // Same as above
+    }
 
-        if (len != arr2.length) {
-            throw new IllegalArgumentException("Array lengths must match");
+    /**
+     * @return one zero-initialized WeightBias per pair of adjacent layers, e.g. to accumulate gradients
+     */
+    public static WeightBias[] makeArray(IntFunction<Vector> vectorConstructor,
+                                         BiFunction<Integer, Integer, Matrix> matrixConstructor,
+                                         LayerDefinition... layerDefinitions) {
+        WeightBias[] arr = new WeightBias[layerDefinitions.length - 1];
+
+        for (int i = 0; i < arr.length; i++) {
+            int inputs = layerDefinitions[i].size();
+            int outputs = layerDefinitions[i + 1].size();
+            arr[i] = new WeightBias(matrixConstructor.apply(inputs, outputs), vectorConstructor.apply(outputs));
         }
 
-        for (int i = 0; i < len; i++) {
-            WeightBias wb1 = arr1[i];
+        return arr;
+    }
+
+    /**
+     * @return amount of floats written by {@link #writeTo(float[], int)}
+     */
+    public int flatSize() {
+        return weights.cols * weights.rows + biases.size();
+    }
 
-            if (wb1 == null) {
-                WeightBias wb2 = arr2[i];
-                arr1[i] = new WeightBias(wb2.weights, wb2.biases);
-                continue;
+    /**
+     * Copies the weights (row by row) followed by the biases into buffer
+     *
+     * @return offset after the last written value
+     */
+    public int writeTo(float[] buffer, int offset) {
+        for (int j = 0; j < weights.rows; j++) {
+            for (int i = 0; i < weights.cols; i++) {
+                buffer[offset++] = weights.get(i, j);
             }
+        }
 
-            wb1.add(arr2[i]);
+        for (int j = 0; j < biases.size(); j++) {
+            buffer[offset++] = biases.get(j);
         }
+
+        return offset;
     }
 
-    public static void mult(WeightBias[] arr, float factor) {
-        for (WeightBias weightBias : arr) {
-            weightBias.mult(factor);
+    /**
+     * Inverse of {@link #writeTo(float[], int)}
+     *
+     * @return offset after the last read value
+     */
+    public int readFrom(float[] buffer, int offset) {
+        densify();
+
+        for (int j = 0; j < weights.rows; j++) {
+            for (int i = 0; i < weights.cols; i++) {
+                weights.set(i, j, buffer[offset++]);
+            }
         }
+
+        for (int j = 0; j < biases.size(); j++) {
+            biases.set(j, buffer[offset++]);
+        }
+
+        return offset;
     }
 
-    public int inputs() {
-        return weights.cols;
+    public Vector apply(Vector activations) {
+        return weights.mult(activations).add(biases);
     }
 
-    public int outputs() {
-        return weights.rows;
-        //return biases.size();  // Same as above
+    public void clear() {
+        weights.fill(0.0f);
+        biases.fill(0.0f);
     }
 
-    /*
-    // TODO maybe?
-    public static WeightBias[] makeArray(int... layerSizes) {
-        WeightBias[] arr = new WeightBias[length];
+    /**
+     * Adds the gradient of a single example in place<br>
+     * The weight gradient is the outer product nablaBiases * activations^T, which is never created as a matrix
+     *
+     * @param nablaBiases gradient of the biases
+     * @param activations activations of the previous layer
+     */
+    public void accumulate(Vector nablaBiases, Vector activations) {
+        biases.addScaled(nablaBiases, 1.0f);
+        weights.addOuterProduct(nablaBiases, activations);
+    }
 
-        for (int i = 0; i < length; i++) {
-            arr[i] = new WeightBias();
-        }
+    /**
+     * Batched version of {@link #accumulate(Vector, Vector)}, adds the gradients of all examples in place
+     *
+     * @param nablaBiases gradients of the biases, one column per example
+     * @param activations activations of the previous layer, one column per example
+     */
+    public void accumulate(Matrix nablaBiases, Matrix activations) {
+        weights.addScaled(nablaBiases.mult(activations.transpose()), 1.0f);
 
-        return arr;
+        for (int j = 0; j < biases.size(); j++) {
+            biases.set(j, biases.get(j) + nablaBiases.getRow(j).sum());
+        }
     }
+
+    /**
+     * In-place version of {@code add(delta)} with every value of delta multiplied by factor
      */
+    public void addScaled(WeightBias delta, float factor) {
+        densify();
 
-    public Vector apply(Vector activations) {
-        return weights.mult(activations).add(biases);
+        weights.addScaled(delta.weights, factor);
+        biases.addScaled(delta.biases, factor);
     }
 
     public void add(WeightBias delta) {
@@ -86,6 +156,23 @@ public class WeightBias {
         biases = biases.sub(delta.biases);
     }
 
+    /**
+     * Stores the weights in CSR format, useful after pruning<br>
+     * Updating the weights afterwards (add, sub, ...) makes them dense again
+     */
+    public void sparsify() {
+        weights = SparseMatrix.of(weights);
+    }
+
+    /**
+     * Inverse of {@link #sparsify()}, needed before the weights are changed in place
+     */
+    public void densify() {
+        if (weights instanceof SparseMatrix sparse) {
+            weights = sparse.toDense();
+        }
+    }
+
     public void mult(float divisor) {
         weights = weights.mult(divisor);
         biases = biases.mult(divisor);
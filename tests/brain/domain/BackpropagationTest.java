@@ -0,0 +1,180 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.LossFunction;
+import brain.math.Randoms;
+import brain.misc.LayerDefinition;
+import brain.misc.MiniBatch;
+import brain.misc.TrainingExample;
+import brain.misc.WeightBias;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Compares the gradients of {@link Brain#computeGradients(MiniBatch)} with central differences of the loss
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class BackpropagationTest {
+
+    private static final float EPSILON = 1e-2f;
+
+    private static Brain newBrain(LossFunction lossFunction) {
+        Randoms.setSeed(Brain.SEED);
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(3, ActivationFunction.LINEAR),
+                new LayerDefinition(5, ActivationFunction.TANH),
+                new LayerDefinition(4, ActivationFunction.SIGMOID),
+                new LayerDefinition(3, ActivationFunction.LINEAR)
+        );
+
+        brain.setLossFunction(lossFunction);
+        return brain;
+    }
+
+    private static MiniBatch miniBatch() {
+        var random = Randoms.of(3);
+        var examples = new TrainingExample[4];
+
+        for (int b = 0; b < examples.length; b++) {
+            var target = new CpuVector(3);
+            target.set(b % 3, 1.0f);
+            examples[b] = new TrainingExample(new CpuVector(3).fillWithRandomValues(-1, 1, random), target);
+        }
+
+        return new MiniBatch(examples);
+    }
+
+    @Test
+    public void finite_differences_test() {
+        var miniBatch = miniBatch();
+
+        for (var lossFunction : new LossFunction[]{LossFunction.MEAN_SQUARED_ERROR, LossFunction.SOFTMAX_CROSS_ENTROPY}) {
+            var brain = newBrain(lossFunction);
+            brain.computeGradients(miniBatch);
+
+            // The hidden layers are the ones whose deltas go through the weights of the layers above
+            for (int l = 1; l < brain.size(); l++) {
+                WeightBias weightBias = brain.getLayer(l).getWeightBias();
+                float[] analytic = new float[weightBias.flatSize()];
+                brain.getGradients()[l - 1].writeTo(analytic, 0);
+                float[] parameters = new float[weightBias.flatSize()];
+                weightBias.writeTo(parameters, 0);
+
+                for (int p = 0; p < parameters.length; p++) {
+                    float original = parameters[p];
+                    parameters[p] = original + EPSILON;
+                    float plus = loss(brain, weightBias, parameters, miniBatch);
+                    parameters[p] = original - EPSILON;
+                    float minus = loss(brain, weightBias, parameters, miniBatch);
+                    parameters[p] = original;
+                    loss(brain, weightBias, parameters, miniBatch);
+
+                    float numeric = (plus - minus) / (2 * EPSILON);
+                    assertEquals(STR."\{lossFunction}, layer \{l}, parameter \{p}", numeric, analytic[p], 1e-2f + 1e-2f * Math.abs(numeric));
+                }
+            }
+        }
+    }
+
+    /**
+     * The gradients accumulated into the preallocated buffers equal the sum of one freshly allocated
+     * {@link WeightBias} per example
+     */
+    @Test
+    public void preallocated_gradients_test() {
+        var miniBatch = miniBatch();
+        var brain = newBrain(LossFunction.MEAN_SQUARED_ERROR);
+        var expected = new WeightBias[brain.size() - 1];
+
+        for (int b = 0; b < miniBatch.size(); b++) {
+            var example = miniBatch.getExample(b);
+            var nablaBiases = brain.getOutputLayer().getNablaBiases(brain.predict(example.input()).sub(example.target()));
+
+            for (int l = brain.size() - 1; l >= 1; l--) {
+                var prev = brain.getLayer(l - 1);
+                var delta = new WeightBias(nablaBiases.mult(prev.getActivations().toRowVector()), nablaBiases);
+
+                if (expected[l - 1] == null) {
+                    expected[l - 1] = delta;
+                } else {
+                    expected[l - 1].add(delta);
+                }
+
+                nablaBiases = prev.getNablaBiases(brain.getLayer(l).getWeights().multTransposed(nablaBiases));
+            }
+        }
+
+        brain.computeGradients(miniBatch);
+
+        for (int l = 1; l < brain.size(); l++) {
+            float[] actual = new float[expected[l - 1].flatSize()];
+            brain.getGradients()[l - 1].writeTo(actual, 0);
+            float[] reference = new float[actual.length];
+            expected[l - 1].writeTo(reference, 0);
+
+            for (int p = 0; p < actual.length; p++) {
+                assertEquals(STR."layer \{l}, parameter \{p}", reference[p], actual[p], 1e-6f);
+            }
+        }
+    }
+
+    /**
+     * @return summed loss of the mini-batch with the given parameters of one layer
+     */
+    private static float loss(Brain brain, WeightBias weightBias, float[] parameters, MiniBatch miniBatch) {
+        weightBias.readFrom(parameters, 0);
+        brain.weightsChanged();
+        float loss = 0.0f;
+
+        for (int b = 0; b < miniBatch.size(); b++) {
+            var example = miniBatch.getExample(b);
+            loss += brain.getLossFunction().loss(brain.predict(example.input()), example.target());
+        }
+
+        return loss;
+    }
+
+    /**
+     * Once the buffer pool is warm, backpropagating an example allocates nothing on the heap
+     */
+    @Test
+    public void allocation_free_step_test() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        var miniBatch = miniBatch();
+        float[] weights = {0.5f, 1.0f, 2.0f, 1.0f};
+        float[] losses = new float[miniBatch.size()];
+
+        for (var lossFunction : new LossFunction[]{LossFunction.MEAN_SQUARED_ERROR, LossFunction.SOFTMAX_CROSS_ENTROPY}) {
+            var brain = newBrain(lossFunction);
+
+            for (int i = 0; i < 100; i++) {
+                brain.computeGradients(miniBatch, weights, losses);
+            }
+
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+
+            for (int i = 0; i < 1000; i++) {
+                brain.computeGradients(miniBatch, weights, losses);
+            }
+
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+            // Less than a byte per example, a single vector per example would be 16+ bytes
+            assertTrue(STR."\{lossFunction}: \{allocated} bytes", allocated < 1000 * miniBatch.size());
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.Vector;
+import brain.misc.InferenceStatistics;
+import brain.misc.LayerDefinition;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class BatchingPredictorTest {
+
+    private final Brain brain = new Brain(
+            CpuVector::new,
+            CpuMatrix::new,
+            new LayerDefinition(8, ActivationFunction.LINEAR),
+            new LayerDefinition(16, ActivationFunction.TANH),
+            new LayerDefinition(3, ActivationFunction.SIGMOID)
+    );
+
+    @Test
+    public void batched_predict_test() {
+        Vector[] inputs = new Vector[10];
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new CpuVector(8).fillWithRandomValues(-1, 1);
+        }
+
+        Vector[] outputs = brain.predict(inputs);
+
+        for (int i = 0; i < inputs.length; i++) {
+            Vector expected = brain.predict(inputs[i]);
+
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j), outputs[i].get(j), 1e-5f);
+            }
+        }
+    }
+
+    @Test
+    public void submit_test() {
+        Vector[] inputs = new Vector[100];
+        var futures = new ArrayList<CompletableFuture<Vector>>(inputs.length);
+
+        try (var predictor = new BatchingPredictor(brain, 16, Duration.ofMillis(5))) {
+            for (int i = 0; i < inputs.length; i++) {
+                inputs[i] = new CpuVector(8).fillWithRandomValues(-1, 1);
+                futures.add(predictor.submit(inputs[i]));
+            }
+
+            for (int i = 0; i < inputs.length; i++) {
+                Vector expected = brain.predict(inputs[i]);
+                Vector actual = futures.get(i).join();
+
+                for (int j = 0; j < expected.size(); j++) {
+                    assertEquals(expected.get(j), actual.get(j), 1e-5f);
+                }
+            }
+
+            InferenceStatistics statistics = predictor.getStatistics();
+            assertEquals(inputs.length, statistics.requests());
+            assertTrue(statistics.meanBatchSize() > 1.0f);
+            assertTrue(statistics.p99LatencyNanos() >= statistics.p50LatencyNanos());
+        }
+    }
+
+    /**
+     * Every request completes, even if it is submitted while (or right after) the predictor is closed
+     */
+    @Test
+    public void close_while_submitting_test() throws Exception {
+        var input = new CpuVector(8).fillWithRandomValues(-1, 1);
+
+        for (int round = 0; round < 200; round++) {
+            var predictor = new BatchingPredictor(brain, 4, Duration.ofMillis(1));
+            var futures = new ArrayList<CompletableFuture<Vector>>();
+            var submitter = Thread.ofPlatform().start(() -> {
+                CompletableFuture<Vector> future;
+
+                do {
+                    future = predictor.submit(input);
+                    futures.add(future);
+                } while (!future.isCompletedExceptionally());
+            });
+
+            Thread.sleep(0, 100_000);
+            predictor.close();
+            submitter.join();
+
+            for (var future : futures) {
+                try {
+                    future.get(1, TimeUnit.SECONDS);
+                } catch (ExecutionException | CancellationException _) {
+                    // Closed before it was predicted
+                } catch (TimeoutException e) {
+                    fail(STR."Round \{round}: a request never completed");
+                }
+            }
+        }
+    }
+
+}
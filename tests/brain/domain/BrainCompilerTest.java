@@ -0,0 +1,67 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.LossFunction;
+import brain.math.Vector;
+import brain.misc.LayerDefinition;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class BrainCompilerTest {
+
+    @Test
+    public void compile_test() {
+        Brain brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(8, ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.LRELU),
+                new LayerDefinition(16, ActivationFunction.TANH),
+                new LayerDefinition(3, ActivationFunction.SIGMOID)
+        );
+
+        CompiledBrain compiled = BrainCompiler.compile(brain);
+        assertEquals(8, compiled.inputSize());
+        assertEquals(3, compiled.outputSize());
+
+        for (int n = 0; n < 16; n++) {
+            Vector input = new CpuVector(8).fillWithRandomValues(-1, 1);
+            Vector expected = brain.predict(input);
+            Vector actual = compiled.predict(input);
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), actual.get(i), 1e-5f);
+            }
+        }
+    }
+
+    @Test
+    public void softmax_test() {
+        Brain brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(8, ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.TANH),
+                new LayerDefinition(5, ActivationFunction.LINEAR)
+        );
+        brain.setLossFunction(LossFunction.SOFTMAX_CROSS_ENTROPY);
+        CompiledBrain compiled = BrainCompiler.compile(brain);
+
+        for (int n = 0; n < 16; n++) {
+            Vector input = new CpuVector(8).fillWithRandomValues(-1, 1);
+            Vector expected = brain.predict(input);
+            Vector actual = compiled.predict(input);
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), actual.get(i), 1e-5f);
+            }
+        }
+    }
+
+}
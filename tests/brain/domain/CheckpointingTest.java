@@ -0,0 +1,157 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.LossFunction;
+import brain.math.Randoms;
+import brain.math.Vector;
+import brain.misc.LayerDefinition;
+import brain.misc.MiniBatch;
+import brain.misc.TrainingExample;
+import brain.misc.WeightBias;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class CheckpointingTest {
+
+    private static Brain newBrain() {
+        Randoms.setSeed(Brain.SEED);
+        return new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(3, ActivationFunction.LINEAR),
+                new LayerDefinition(8, ActivationFunction.TANH),
+                new LayerDefinition(6, ActivationFunction.LRELU),
+                new LayerDefinition(8, ActivationFunction.SIGMOID),
+                new LayerDefinition(7, ActivationFunction.TANH),
+                new LayerDefinition(5, ActivationFunction.TANH),
+                new LayerDefinition(4, ActivationFunction.LINEAR)
+        );
+    }
+
+    private static MiniBatch miniBatch() {
+        var random = Randoms.of(7);
+        var examples = new TrainingExample[12];
+
+        for (int b = 0; b < examples.length; b++) {
+            var target = new CpuVector(4);
+            target.set(b % 4, 1.0f);
+            examples[b] = new TrainingExample(new CpuVector(3).fillWithRandomValues(-1, 1, random), target);
+        }
+
+        return new MiniBatch(examples);
+    }
+
+    private static float[] flatGradients(Brain brain) {
+        var gradients = brain.getGradients();
+        int size = 0;
+
+        for (WeightBias gradient : gradients) {
+            size += gradient.flatSize();
+        }
+
+        float[] flat = new float[size];
+        int offset = 0;
+
+        for (WeightBias gradient : gradients) {
+            offset = gradient.writeTo(flat, offset);
+        }
+
+        return flat;
+    }
+
+    @Test
+    public void same_gradients_test() {
+        var miniBatch = miniBatch();
+        float[] weights = {1, 2, 0.5f, 1, 1, 3, 1, 1, 0, 1, 1, 1};
+
+        for (var lossFunction : new LossFunction[]{LossFunction.MEAN_SQUARED_ERROR, LossFunction.SOFTMAX_CROSS_ENTROPY}) {
+            var reference = newBrain();
+            reference.setLossFunction(lossFunction);
+            float[] referenceLosses = new float[miniBatch.size()];
+            var referenceInputGradients = new Vector[miniBatch.size()];
+            float referenceLoss = reference.computeGradients(miniBatch, weights, referenceLosses, referenceInputGradients);
+            float[] expected = flatGradients(reference);
+
+            for (int interval = 1; interval <= 7; interval++) {
+                var brain = newBrain();
+                brain.setLossFunction(lossFunction);
+                brain.setCheckpointInterval(interval);
+                brain.getBufferPool().setDebug(true);
+                float[] losses = new float[miniBatch.size()];
+                var inputGradients = new Vector[miniBatch.size()];
+
+                assertEquals(referenceLoss, brain.computeGradients(miniBatch, weights, losses, inputGradients), 1e-5f);
+                assertArrayEquals(referenceLosses, losses, 1e-6f);
+                assertArrayEquals(STR."\{lossFunction}, interval \{interval}", expected, flatGradients(brain), 1e-5f);
+
+                for (int b = 0; b < miniBatch.size(); b++) {
+                    assertArrayEquals(referenceInputGradients[b].toArray(), inputGradients[b].toArray(), 1e-5f);
+                }
+
+                brain.getBufferPool().checkLeaks();
+            }
+        }
+    }
+
+    @Test
+    public void memory_budget_test() {
+        int[] layerSizes = {10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
+        long all = Checkpointing.activationMemory(layerSizes, 100, 1);
+        assertEquals(100 * (9 * 10 + 3 * 10), all);
+        assertEquals(1, Checkpointing.interval(layerSizes, 100, all * Float.BYTES));
+
+        // Every third layer: 3 checkpoints and segments of 2 layers, the least memory of all intervals > 1
+        long everyThird = Checkpointing.activationMemory(layerSizes, 100, 3);
+        assertEquals(100 * (3 * 10 + 2 * 10 + 3 * 10), everyThird);
+        assertEquals(3, Checkpointing.interval(layerSizes, 100, all * Float.BYTES - 1));
+
+        // Example by example only keeps the vectors of the layers, independent of the mini-batch size
+        long exampleByExample = Checkpointing.activationMemory(layerSizes, 100, 0);
+        assertEquals(2 * 10 * 10 + 2 * 10, exampleByExample);
+        assertEquals(0, Checkpointing.interval(layerSizes, 100, everyThird * Float.BYTES - 1));
+        assertThrows(IllegalArgumentException.class, () -> Checkpointing.interval(layerSizes, 100, exampleByExample * Float.BYTES - 1));
+
+        // With a single example per mini-batch, checkpointing needs less than example by example
+        assertEquals(3, Checkpointing.interval(layerSizes, 1, 80 * Float.BYTES));
+
+        var brain = newBrain();
+        brain.setMiniBatchSize(1000);
+        assertEquals(1, brain.setActivationMemoryBudget(Long.MAX_VALUE));
+        assertEquals(0, brain.setActivationMemoryBudget(1000));
+        assertThrows(IllegalArgumentException.class, () -> brain.setActivationMemoryBudget(0));
+    }
+
+    @Test
+    public void checkpointed_training_test() {
+        var brain = newBrain();
+        var examples = new TrainingExample[200];
+        var random = Randoms.of(3);
+
+        for (int n = 0; n < examples.length; n++) {
+            var input = new CpuVector(3).fillWithRandomValues(-1, 1, random);
+            var target = CpuVector.of(input.get(0), input.get(1) * input.get(2), 0.5f, -input.get(0));
+            examples[n] = new TrainingExample(input, target);
+        }
+
+        brain.setLearningRate(0.05f);
+        brain.setMiniBatchSize(10);
+        brain.setCheckpointInterval(3);
+        float initialLoss = brain.loss(examples);
+
+        for (int epoch = 0; epoch < 20; epoch++) {
+            brain.train(examples);
+        }
+
+        assertTrue(brain.loss(examples) < initialLoss / 2);
+    }
+
+}
@@ -0,0 +1,183 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.misc.LayerDefinition;
+import brain.misc.RingAllReduce;
+import brain.misc.TrainingExample;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class DataParallelTrainerTest {
+
+    private static final int WORLD_SIZE = 3;
+
+    private static Brain newBrain() {
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(2, ActivationFunction.LINEAR),
+                new LayerDefinition(8, ActivationFunction.TANH),
+                new LayerDefinition(1, ActivationFunction.LINEAR)
+        );
+
+        brain.setMiniBatchSize(20);
+        brain.setLearningRate(0.1f);
+        return brain;
+    }
+
+    private static TrainingExample[] examples(int count) {
+        var examples = new TrainingExample[count];
+
+        for (int n = 0; n < examples.length; n++) {
+            var input = new CpuVector(2).fillWithRandomValues(-1, 1);
+            examples[n] = new TrainingExample(input, CpuVector.of(input.get(0) * input.get(1)));
+        }
+
+        return examples;
+    }
+
+    @Test
+    public void replicas_stay_identical_test() throws Exception {
+        var addresses = RingAllReduce.localAddresses(WORLD_SIZE);
+        var examples = examples(WORLD_SIZE * 200);
+        var futures = new ArrayList<Future<Brain>>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORLD_SIZE)) {
+            for (int r = 0; r < WORLD_SIZE; r++) {
+                int rank = r;
+                var shard = Arrays.copyOfRange(examples, rank * 200, (rank + 1) * 200);
+
+                futures.add(executor.submit(() -> {
+                    var brain = newBrain();
+
+                    try (var ring = new RingAllReduce(rank, addresses, false)) {
+                        var trainer = new DataParallelTrainer(brain, ring);
+                        trainer.synchronizeWeights();
+                        float loss = brain.loss(examples);
+
+                        for (int epoch = 0; epoch < 5; epoch++) {
+                            assertEquals(examples.length, trainer.train(shard).examples());
+                        }
+
+                        assertTrue(brain.loss(examples) < loss);
+                    }
+
+                    return brain;
+                }));
+            }
+
+            var brains = new Brain[WORLD_SIZE];
+
+            for (int r = 0; r < WORLD_SIZE; r++) {
+                brains[r] = futures.get(r).get();
+            }
+
+            for (int r = 1; r < WORLD_SIZE; r++) {
+                for (int l = 1; l < brains[0].size(); l++) {
+                    assertEquals(brains[0].getLayer(l).getWeights(), brains[r].getLayer(l).getWeights());
+                    assertEquals(brains[0].getLayer(l).getBiases(), brains[r].getLayer(l).getBiases());
+                }
+            }
+        }
+    }
+
+    @Test(timeout = 60_000)
+    public void uneven_shards_fail_on_all_ranks_test() throws Exception {
+        var addresses = RingAllReduce.localAddresses(WORLD_SIZE);
+        int[] miniBatches = {2, 4, 3};  // The mean is the count of rank 2, a sum alone would let it pass
+        var futures = new ArrayList<Future<?>>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORLD_SIZE)) {
+            for (int r = 0; r < WORLD_SIZE; r++) {
+                int rank = r;
+
+                futures.add(executor.submit(() -> {
+                    try (var ring = new RingAllReduce(rank, addresses, false)) {
+                        var trainer = new DataParallelTrainer(newBrain(), ring);
+                        trainer.train(examples(miniBatches[rank] * 20));
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                var e = assertThrows(ExecutionException.class, future::get);
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    @Test
+    public void weights_are_synchronized_at_full_precision_test() throws Exception {
+        var addresses = RingAllReduce.localAddresses(WORLD_SIZE);
+        var futures = new ArrayList<Future<Brain>>();
+        var rank0 = newBrain();
+        var expected = new float[rank0.getLayer(1).getWeightBias().flatSize()];
+        rank0.getLayer(1).getWeightBias().writeTo(expected, 0);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORLD_SIZE)) {
+            for (int r = 0; r < WORLD_SIZE; r++) {
+                int rank = r;
+
+                futures.add(executor.submit(() -> {
+                    var brain = (rank == 0) ? rank0 : newBrain();
+
+                    try (var ring = new RingAllReduce(rank, addresses, true)) {
+                        new DataParallelTrainer(brain, ring).synchronizeWeights();
+                    }
+
+                    return brain;
+                }));
+            }
+
+            for (Future<Brain> future : futures) {
+                var actual = new float[expected.length];
+                future.get().getLayer(1).getWeightBias().writeTo(actual, 0);
+                assertArrayEquals(expected, actual, 0.0f);  // Not rounded to 16 bits, not even on rank 0
+            }
+        }
+    }
+
+    @Test
+    public void example_count_is_exact_with_half_precision_test() throws Exception {
+        var addresses = RingAllReduce.localAddresses(WORLD_SIZE);
+        var futures = new ArrayList<Future<Integer>>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORLD_SIZE)) {
+            for (int r = 0; r < WORLD_SIZE; r++) {
+                int rank = r;
+
+                futures.add(executor.submit(() -> {
+                    var brain = newBrain();
+                    brain.setMiniBatchSize(1001);
+
+                    try (var ring = new RingAllReduce(rank, addresses, true)) {
+                        return new DataParallelTrainer(brain, ring).train(examples(1001)).examples();
+                    }
+                }));
+            }
+
+            for (Future<Integer> future : futures) {
+                assertEquals(WORLD_SIZE * 1001, (int) future.get());  // 3003 would be rounded to 3004 as a 16-bit float
+            }
+        }
+    }
+
+}
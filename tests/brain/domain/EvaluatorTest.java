@@ -0,0 +1,65 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.misc.EvaluationReport;
+import brain.misc.LayerDefinition;
+import brain.misc.TestExample;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class EvaluatorTest {
+
+    private final Brain brain = new Brain(
+            CpuVector::new,
+            CpuMatrix::new,
+            new LayerDefinition(4, ActivationFunction.LINEAR),
+            new LayerDefinition(8, ActivationFunction.TANH),
+            new LayerDefinition(3, ActivationFunction.SIGMOID)
+    );
+
+    @Test
+    public void matches_sequential_evaluation_test() {
+        var testExamples = new TestExample[10_000];
+
+        for (int n = 0; n < testExamples.length; n++) {
+            testExamples[n] = new TestExample(new CpuVector(4).fillWithRandomValues(-1, 1), n % 3);
+        }
+
+        EvaluationReport report = brain.evaluate(testExamples);
+        var expected = new int[3][3];
+        double loss = 0.0;
+
+        for (TestExample testExample : testExamples) {
+            var output = brain.predict(testExample.input()).copy();
+            expected[testExample.label()][output.argmax()]++;
+            var diff = output.withEach(i -> output.get(i) - ((i == testExample.label()) ? 1.0f : 0.0f));
+            loss += 0.5 * diff.dot(diff);
+        }
+
+        assertEquals(testExamples.length, report.examples());
+        assertEquals(brain.accuracy(testExamples), report.accuracy(), 1e-6f);
+        assertEquals(loss / testExamples.length, report.loss(), 1e-4);
+
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertEquals(expected[i][j], report.confusionMatrix()[i][j]);
+            }
+
+            assertEquals((float) expected[i][i] / (testExamples.length / 3 + ((i == 0) ? 1 : 0)), report.recall(i), 1e-6f);
+        }
+    }
+
+    @Test
+    public void empty_test() {
+        var report = Evaluator.evaluate(BrainSnapshot.of(brain), new TestExample[0], 16);
+        assertEquals(0, report.examples());
+        assertEquals(0.0f, report.accuracy(), 0.0f);
+    }
+
+}
@@ -0,0 +1,107 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.Randoms;
+import brain.misc.ImageFitting;
+import brain.misc.LayerDefinition;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class HashGridBrainTest {
+
+    private static BufferedImage image() {
+        var image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+
+        for (int j = 0; j < 32; j++) {
+            for (int i = 0; i < 32; i++) {
+                // Hard edges that a small brain with plain coordinates could not fit
+                int r = (i / 4 + j / 4) % 2 == 0 ? 255 : 0;
+                image.setRGB(i, j, r << 16 | (i * 8) << 8 | (j * 8));
+            }
+        }
+
+        return image;
+    }
+
+    @Test
+    public void interpolation_test() {
+        var encoding = new HashGridEncoding(3, 2, 4, 2, 8, Randoms.of(1));
+        assertEquals(6, encoding.outputSize());
+
+        // Halfway between two vertices of every level is the mean of both
+        float[] left = new float[6];
+        float[] right = new float[6];
+        float[] middle = new float[6];
+        encoding.encode(0.0f, 0.0f, left);
+        encoding.encode(1.0f / 8, 0.0f, right);
+        encoding.encode(1.0f / 16, 0.0f, middle);
+
+        for (int f = 4; f < 6; f++) {
+            assertEquals((left[f] + right[f]) / 2, middle[f], 1e-9f);
+        }
+
+        // Hashed levels still encode every point deterministically
+        assertArrayEquals(encoding.encode(CpuVector.of(0.3f, 0.7f)), encoding.encode(CpuVector.of(0.3f, 0.7f)), 0.0f);
+    }
+
+    @Test
+    public void gradient_test() {
+        var encoding = new HashGridEncoding(4, 2, 5, 2, 16, Randoms.of(2));
+        var input = CpuVector.of(0.37f, 0.81f);
+        var outputGradient = new CpuVector(encoding.outputSize()).fillWithRandomValues(-1, 1, Randoms.of(3));
+        float[] table = encoding.getTable();
+        float[] before = table.clone();
+
+        // loss = outputGradient · encode(input) is linear in the features, one step of -1 subtracts its gradient
+        encoding.accumulate(input, outputGradient);
+        encoding.step(-1.0f);
+        float[] after = table.clone();
+        float epsilon = 1e-2f;
+
+        for (int i = 0; i < table.length; i++) {
+            System.arraycopy(before, 0, table, 0, table.length);
+            table[i] += epsilon;
+            float plus = outputGradient.dot(CpuVector.of(encoding.encode(input)));
+            table[i] -= 2 * epsilon;
+            float minus = outputGradient.dot(CpuVector.of(encoding.encode(input)));
+            assertEquals((plus - minus) / (2 * epsilon), before[i] - after[i], 1e-3f);
+        }
+    }
+
+    @Test
+    public void image_fitting_test() {
+        var image = image();
+        var trainingExamples = ImageFitting.coordinateExamples(image, CpuVector::of);
+        var encoding = new HashGridEncoding(6, 2, 10, 2, 32);
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(encoding.outputSize(), ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.LRELU),
+                new LayerDefinition(3, ActivationFunction.SIGMOID)
+        );
+
+        brain.setLearningRate(0.5f);
+        brain.setMiniBatchSize(16);
+        var hashGridBrain = new HashGridBrain(encoding, brain, 20.0f);
+        double initial = ImageFitting.psnr(hashGridBrain, trainingExamples);
+
+        for (int epoch = 0; epoch < 30; epoch++) {
+            hashGridBrain.train(trainingExamples);
+        }
+
+        double psnr = ImageFitting.psnr(hashGridBrain, trainingExamples);
+        assertTrue(STR."\{psnr} dB", psnr > 20.0 && psnr > initial + 10.0);
+    }
+
+}
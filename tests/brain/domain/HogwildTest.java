@@ -0,0 +1,96 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.SparseMatrix;
+import brain.misc.LayerDefinition;
+import brain.misc.TrainingExample;
+import brain.misc.TrainingStatistics;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class HogwildTest {
+
+    private static final int EPOCHS = 20;
+
+    private static Brain newBrain() {
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(2, ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.TANH),
+                new LayerDefinition(1, ActivationFunction.LINEAR)
+        );
+
+        brain.setLearningRate(0.2f);
+        brain.setMiniBatchSize(10);
+        return brain;
+    }
+
+    private static TrainingExample[] examples() {
+        var examples = new TrainingExample[2000];
+
+        for (int n = 0; n < examples.length; n++) {
+            var input = new CpuVector(2).fillWithRandomValues(-1, 1);
+            float target = (float) Math.sin(2 * input.get(0)) * input.get(1);
+            examples[n] = new TrainingExample(input, CpuVector.of(target));
+        }
+
+        return examples;
+    }
+
+    @Test
+    public void hogwild_converges_like_sequential_test() {
+        var examples = examples();
+        var sequential = newBrain();
+        var hogwild = newBrain();
+        float initialLoss = hogwild.loss(examples);
+
+        for (int epoch = 0; epoch < EPOCHS; epoch++) {
+            sequential.train(examples);
+        }
+
+        long version = hogwild.getVersion();
+
+        for (int epoch = 0; epoch < EPOCHS; epoch++) {
+            TrainingStatistics statistics = hogwild.trainHogwild(examples, 4);
+            assertEquals(examples.length, statistics.examples());
+        }
+
+        float sequentialLoss = sequential.loss(examples);
+        float hogwildLoss = hogwild.loss(examples);
+
+        assertTrue(hogwild.getVersion() > version);
+        assertTrue(hogwildLoss < initialLoss / 4);
+        assertTrue(hogwildLoss < 2 * sequentialLoss + 1e-3f);
+    }
+
+    @Test
+    public void pruned_brain_test() {
+        var examples = examples();
+        var brain = newBrain();
+        Pruner.pruneWeights(brain, 0.5f);
+        Pruner.sparsify(brain);
+        brain.setTrainable(1, false);
+        var frozenWeights = brain.getLayer(1).getWeights();
+        float initialLoss = brain.loss(examples);
+
+        for (int epoch = 0; epoch < EPOCHS; epoch++) {
+            brain.trainHogwild(examples, 4);
+        }
+
+        // The frozen layer keeps its sparse weights, the trained one is written back densely
+        assertSame(frozenWeights, brain.getLayer(1).getWeights());
+        assertFalse(brain.getLayer(2).getWeights() instanceof SparseMatrix);
+        assertTrue(brain.loss(examples) < initialLoss);
+    }
+
+}
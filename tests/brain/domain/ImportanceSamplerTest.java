@@ -0,0 +1,107 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.misc.LayerDefinition;
+import brain.misc.TrainingExample;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class ImportanceSamplerTest {
+
+    private static Brain newBrain() {
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(1, ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.TANH),
+                new LayerDefinition(1, ActivationFunction.LINEAR)
+        );
+
+        brain.setLearningRate(0.1f);
+        brain.setMiniBatchSize(10);
+        return brain;
+    }
+
+    /**
+     * Flat except for a narrow bump, most examples are easy
+     */
+    private static TrainingExample[] examples() {
+        var examples = new TrainingExample[1000];
+
+        for (int n = 0; n < examples.length; n++) {
+            float x = 2.0f * n / examples.length - 1.0f;
+            examples[n] = new TrainingExample(CpuVector.of(x), CpuVector.of(Math.abs(x - 0.5f) < 0.05f ? 1.0f : 0.0f));
+        }
+
+        return examples;
+    }
+
+    @Test
+    public void probability_follows_loss_test() {
+        var examples = examples();
+        var sampler = new ImportanceSampler(newBrain(), examples, 1.0f, 0.0f, 1e-3f);
+        double total = 0.0;
+
+        for (int i = 0; i < examples.length; i++) {
+            total += sampler.getEstimatedLoss(i) + 1e-3f;
+        }
+
+        for (int i = 0; i < examples.length; i += 97) {
+            assertEquals((sampler.getEstimatedLoss(i) + 1e-3f) / total, sampler.getProbability(i), 1e-6);
+        }
+    }
+
+    @Test
+    public void importance_sampling_trains_test() {
+        var examples = examples();
+
+        for (float beta : new float[]{0.0f, 1.0f}) {
+            var brain = newBrain();
+            float initialLoss = brain.loss(examples);
+            var sampler = new ImportanceSampler(brain, examples, 1.0f, beta, 1e-3f);
+            sampler.setRefreshInterval(5);
+
+            for (int epoch = 0; epoch < 10; epoch++) {
+                sampler.epoch();
+            }
+
+            assertEquals(10 * 100, sampler.getMiniBatches());
+            assertTrue(STR."beta \{beta}: \{brain.loss(examples)} < \{initialLoss}", brain.loss(examples) < initialLoss);
+        }
+    }
+
+    @Test
+    public void setters_test() {
+        var sampler = new ImportanceSampler(newBrain(), examples());
+
+        assertThrows(IllegalArgumentException.class, () -> sampler.setRefreshInterval(0));
+        assertThrows(IllegalArgumentException.class, () -> sampler.setRefreshSize(-1));
+        sampler.setRefreshSize(0);
+        sampler.setRefreshInterval(1);
+        sampler.train(3);
+    }
+
+    @Test
+    public void non_finite_loss_test() {
+        var examples = examples();
+        examples[7] = new TrainingExample(examples[7].input(), CpuVector.of(Float.NaN));
+        examples[8] = new TrainingExample(examples[8].input(), CpuVector.of(Float.POSITIVE_INFINITY));
+        var sampler = new ImportanceSampler(newBrain(), examples, 1.0f, 0.0f, 1e-3f);
+
+        for (int i : new int[]{7, 8}) {
+            assertEquals(0.0f, sampler.getEstimatedLoss(i), 0.0f);
+            assertTrue(sampler.getProbability(i) > 0.0);
+        }
+
+        assertTrue(Double.isFinite(sampler.getProbability(0)));
+    }
+
+}
@@ -0,0 +1,205 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.Randoms;
+import brain.math.Vector;
+import brain.misc.LayerDefinition;
+import brain.misc.MiniBatch;
+import brain.misc.TrainingExample;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class LayerFreezingTest {
+
+    private static Brain newBrain() {
+        Randoms.setSeed(Brain.SEED);
+        return new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(3, ActivationFunction.LINEAR),
+                new LayerDefinition(8, ActivationFunction.TANH),
+                new LayerDefinition(6, ActivationFunction.LRELU),
+                new LayerDefinition(7, ActivationFunction.TANH),
+                new LayerDefinition(2, ActivationFunction.LINEAR)
+        );
+    }
+
+    private static TrainingExample[] examples() {
+        var random = Randoms.of(5);
+        var examples = new TrainingExample[100];
+
+        for (int n = 0; n < examples.length; n++) {
+            var input = new CpuVector(3).fillWithRandomValues(-1, 1, random);
+            examples[n] = new TrainingExample(input, CpuVector.of(input.get(0) * input.get(1), -input.get(2)));
+        }
+
+        return examples;
+    }
+
+    private static float[][] parameters(Brain brain) {
+        var parameters = new float[brain.size()][];
+
+        for (int l = 1; l < brain.size(); l++) {
+            var layer = brain.getLayer(l);
+            float[] flat = new float[layer.getWeights().cols * layer.getWeights().rows + layer.size()];
+            int i = 0;
+
+            for (int row = 0; row < layer.getWeights().rows; row++) {
+                for (int col = 0; col < layer.getWeights().cols; col++) {
+                    flat[i++] = layer.getWeights().get(col, row);
+                }
+            }
+
+            for (int j = 0; j < layer.size(); j++) {
+                flat[i++] = layer.getBiases().get(j);
+            }
+
+            parameters[l] = flat;
+        }
+
+        return parameters;
+    }
+
+    private static float[] flatGradient(Brain brain, int l) {
+        var gradient = brain.getGradients()[l - 1];
+        float[] flat = new float[gradient.flatSize()];
+        gradient.writeTo(flat, 0);
+        return flat;
+    }
+
+    @Test
+    public void frozen_layers_are_not_updated_test() {
+        var brain = newBrain();
+        brain.setLearningRate(0.05f);
+        brain.setMiniBatchSize(10);
+        brain.freezeUpTo(2);
+        assertFalse(brain.isTrainable(2));
+        assertTrue(brain.isTrainable(3));
+        assertEquals(3, brain.lowestTrainableLayer());
+
+        var before = parameters(brain);
+        var examples = examples();
+        float initialLoss = brain.loss(examples);
+
+        for (int epoch = 0; epoch < 20; epoch++) {
+            brain.train(examples);
+        }
+
+        brain.trainHogwild(examples, 2);
+        var after = parameters(brain);
+
+        assertArrayEquals(before[1], after[1], 0.0f);
+        assertArrayEquals(before[2], after[2], 0.0f);
+        assertFalse(Arrays.equals(before[3], after[3]));
+        assertTrue(brain.loss(examples) < initialLoss);
+    }
+
+    @Test
+    public void same_gradients_as_full_backpropagation_test() {
+        var miniBatch = new MiniBatch(examples());
+        var reference = newBrain();
+        reference.computeGradients(miniBatch);
+
+        for (int interval = 0; interval <= 3; interval++) {
+            for (boolean caching : new boolean[]{true, false}) {
+                var brain = newBrain();
+                brain.freezeUpTo(2);
+                brain.setFrozenPrefixCaching(caching);
+                brain.setCheckpointInterval(interval);
+
+                // Twice, so the second pass starts at the cached prefix
+                for (int pass = 0; pass < 2; pass++) {
+                    brain.computeGradients(miniBatch);
+
+                    for (int l = 1; l < brain.size(); l++) {
+                        float[] expected = brain.isTrainable(l) ? flatGradient(reference, l) : new float[flatGradient(reference, l).length];
+                        // The batched products sum in a different order, the gradients of the last layer are around 50
+                        assertArrayEquals(STR."layer \{l}, interval \{interval}", expected, flatGradient(brain, l), 1e-4f);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void input_gradients_pass_frozen_layers_test() {
+        var miniBatch = new MiniBatch(examples());
+        var reference = newBrain();
+        var expected = new Vector[miniBatch.size()];
+        reference.computeGradients(miniBatch, null, null, expected);
+
+        var brain = newBrain();
+        brain.freezeUpTo(3);
+        var actual = new Vector[miniBatch.size()];
+        brain.computeGradients(miniBatch, null, null, actual);
+
+        for (int b = 0; b < miniBatch.size(); b++) {
+            assertArrayEquals(expected[b].toArray(), actual[b].toArray(), 1e-5f);
+        }
+    }
+
+    @Test
+    public void prefix_cache_test() {
+        var brain = newBrain();
+        var example = examples()[0];
+        assertFalse(brain.isFrozenPrefixCaching());
+        assertFalse(brain.prefixActivations(example, 2) == brain.prefixActivations(example, 2));
+
+        brain.setFrozenPrefixCaching(true);
+        var cached = brain.prefixActivations(example, 2);
+        assertTrue(cached == brain.prefixActivations(example, 2));
+
+        // Changing the weights invalidates the cache, the values stay the same without a change
+        brain.weightsChanged();
+        var recomputed = brain.prefixActivations(example, 2);
+        assertFalse(cached == recomputed);
+        assertArrayEquals(cached.toArray(), recomputed.toArray(), 0.0f);
+
+        brain.predict(example.input());
+        assertArrayEquals(brain.getLayer(2).getActivations().toArray(), recomputed.toArray(), 0.0f);
+    }
+
+    @Test
+    public void prefix_cache_holds_one_training_set_test() {
+        var brain = newBrain();
+        brain.freezeUpTo(2);
+        brain.setFrozenPrefixCaching(true);
+        var examples = examples();
+        brain.train(examples);
+        var cached = brain.prefixActivations(examples[0], 2);
+        brain.train(examples);
+        assertTrue(cached == brain.prefixActivations(examples[0], 2));
+
+        // Another training set replaces the cached one
+        brain.train(examples());
+        assertFalse(cached == brain.prefixActivations(examples[0], 2));
+    }
+
+    @Test
+    public void every_training_loop_bounds_the_prefix_cache_test() {
+        var brain = newBrain();
+        brain.freezeUpTo(2);
+        brain.setFrozenPrefixCaching(true);
+        var examples = examples();
+        var sampler = new ImportanceSampler(brain, examples);
+        sampler.train(2);
+        var cached = brain.prefixActivations(examples[0], 2);
+        sampler.train(2);
+        assertTrue(cached == brain.prefixActivations(examples[0], 2));
+
+        new SnapshotPublisher(brain, 1).train(examples());
+        assertFalse(cached == brain.prefixActivations(examples[0], 2));
+    }
+
+}
@@ -0,0 +1,73 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.misc.LayerDefinition;
+import brain.misc.TrainingExample;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class PredictionCacheTest {
+
+    private final Brain brain = new Brain(
+            CpuVector::new,
+            CpuMatrix::new,
+            new LayerDefinition(2, ActivationFunction.LINEAR),
+            new LayerDefinition(8, ActivationFunction.TANH),
+            new LayerDefinition(1, ActivationFunction.LINEAR)
+    );
+
+    @Test
+    public void lru_eviction_test() {
+        var cache = new PredictionCache(brain, 2);
+        var a = cache.predict(CpuVector.of(0, 0));
+        cache.predict(CpuVector.of(1, 0));
+
+        // a was used last, so b is the least recently used entry and gets evicted by c
+        assertSame(a, cache.predict(CpuVector.of(0, 0)));
+        cache.predict(CpuVector.of(0, 1));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+
+        assertSame(a, cache.predict(CpuVector.of(0, 0)));
+        cache.predict(CpuVector.of(1, 0));  // Evicted before
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void quantization_test() {
+        var cache = new PredictionCache(brain, 10, 0.1f);
+        var output = cache.predict(CpuVector.of(0.5f, 0.5f));
+        assertSame(output, cache.predict(CpuVector.of(0.51f, 0.49f)));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void version_invalidation_test() {
+        var cache = new PredictionCache(brain, 10);
+        var input = CpuVector.of(0.3f, -0.7f);
+        var before = cache.predict(input).toArray();
+        assertEquals(1, cache.size());
+
+        brain.train(new TrainingExample[]{new TrainingExample(input, CpuVector.of(5))});
+        var after = cache.predict(input);
+
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(0, cache.getHits());
+        assertFalse(before[0] == after.get(0));
+        assertArrayEquals(brain.predict(input).toArray(), after.toArray(), 0.0f);
+    }
+
+}
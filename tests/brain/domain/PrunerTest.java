@@ -0,0 +1,72 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.SparseMatrix;
+import brain.misc.LayerDefinition;
+import brain.misc.PruningReport;
+import brain.misc.TestExample;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class PrunerTest {
+
+    private final Brain brain = new Brain(
+            CpuVector::new,
+            CpuMatrix::new,
+            new LayerDefinition(16, ActivationFunction.LINEAR),
+            new LayerDefinition(32, ActivationFunction.RELU),
+            new LayerDefinition(4, ActivationFunction.SIGMOID)
+    );
+
+    @Test
+    public void repeated_prune_test() {
+        var testExamples = new TestExample[16];
+
+        for (int i = 0; i < testExamples.length; i++) {
+            var input = new CpuVector(16).fillWithRandomValues(-1, 1);
+            testExamples[i] = new TestExample(input, brain.predict(input).argmax());
+        }
+
+        Pruner.prune(brain, 0.5f, testExamples);
+        assertTrue(brain.getLayer(1).getWeights() instanceof SparseMatrix);
+
+        // The weights are sparse (immutable) now, pruning again has to work on a dense copy
+        PruningReport report = Pruner.prune(brain, 0.8f, testExamples);
+        assertEquals(0.8f, report.actualSparsity(), 0.01f);
+        assertTrue(brain.getLayer(1).getWeights() instanceof SparseMatrix);
+
+        Pruner.pruneNeurons(brain, 0.25f);
+        assertTrue(Pruner.sparsity(brain) >= 0.8f);
+    }
+
+    @Test
+    public void ties_test() {
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(1, ActivationFunction.LINEAR),
+                new LayerDefinition(3, ActivationFunction.LINEAR)
+        );
+
+        var weights = brain.getLayer(1).getWeights();
+        weights.set(0, 0, 0.2f);
+        weights.set(0, 1, -0.2f);
+        weights.set(0, 2, 0.1f);
+
+        // k = 2 with the threshold 0.2: the smaller value is visited last, it must still leave one of the ties
+        Pruner.pruneWeights(brain, 2.0f / 3.0f);
+        weights = brain.getLayer(1).getWeights();
+
+        assertEquals(0.0f, weights.get(0, 0), 0.0f);
+        assertEquals(-0.2f, weights.get(0, 1), 0.0f);
+        assertEquals(0.0f, weights.get(0, 2), 0.0f);
+    }
+
+}
@@ -0,0 +1,124 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.LossFunction;
+import brain.math.Vector;
+import brain.misc.LayerDefinition;
+import brain.misc.QuantizationReport;
+import brain.misc.TestExample;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class QuantizedBrainTest {
+
+    private final Brain brain = new Brain(
+            CpuVector::new,
+            CpuMatrix::new,
+            new LayerDefinition(16, ActivationFunction.LINEAR),
+            new LayerDefinition(32, ActivationFunction.RELU),
+            new LayerDefinition(4, ActivationFunction.SIGMOID)
+    );
+
+    @Test
+    public void predict_test() {
+        Vector[] inputs = new Vector[64];
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new CpuVector(16).fillWithRandomValues(-1, 1);
+        }
+
+        QuantizedBrain quantized = QuantizedBrain.quantize(brain, inputs);
+
+        for (Vector input : inputs) {
+            Vector expected = brain.predict(input);
+            Vector actual = quantized.predict(input);
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), actual.get(i), 0.05f);
+            }
+        }
+    }
+
+    @Test
+    public void input_activation_function_test() {
+        var reluInput = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(16, ActivationFunction.RELU),
+                new LayerDefinition(32, ActivationFunction.RELU),
+                new LayerDefinition(4, ActivationFunction.SIGMOID)
+        );
+        Vector[] inputs = new Vector[64];
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new CpuVector(16).fillWithRandomValues(-1, 1);
+        }
+
+        QuantizedBrain quantized = QuantizedBrain.quantize(reluInput, inputs);
+
+        for (Vector input : inputs) {
+            Vector expected = reluInput.predict(input);
+            Vector actual = quantized.predict(input);
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), actual.get(i), 0.05f);
+            }
+        }
+    }
+
+    @Test
+    public void softmax_test() {
+        var softmax = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(16, ActivationFunction.LINEAR),
+                new LayerDefinition(32, ActivationFunction.RELU),
+                new LayerDefinition(4, ActivationFunction.LINEAR)
+        );
+        softmax.setLossFunction(LossFunction.SOFTMAX_CROSS_ENTROPY);
+        Vector[] inputs = new Vector[64];
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new CpuVector(16).fillWithRandomValues(-1, 1);
+        }
+
+        QuantizedBrain quantized = QuantizedBrain.quantize(softmax, inputs);
+
+        for (Vector input : inputs) {
+            Vector expected = softmax.predict(input);
+            Vector actual = quantized.predict(input);
+            float sum = 0.0f;
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), actual.get(i), 0.05f);
+                sum += actual.get(i);
+            }
+
+            assertEquals(1.0f, sum, 1e-5f);
+        }
+    }
+
+    @Test
+    public void compare_test() {
+        TestExample[] testExamples = new TestExample[64];
+        Vector[] inputs = new Vector[testExamples.length];
+
+        for (int i = 0; i < testExamples.length; i++) {
+            inputs[i] = new CpuVector(16).fillWithRandomValues(-1, 1);
+            testExamples[i] = new TestExample(inputs[i], brain.predict(inputs[i]).argmax());
+        }
+
+        QuantizationReport report = QuantizedBrain.quantize(brain, inputs).compare(brain, testExamples);
+        assertEquals(1.0f, report.floatAccuracy(), 0.0f);
+        assertTrue(report.agreement() > 0.8f);
+        assertTrue(report.compressionRatio() > 2.5f);  // Scales and biases stay float, so only ~4x for wide layers
+    }
+
+}
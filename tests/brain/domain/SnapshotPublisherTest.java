@@ -0,0 +1,112 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.Vector;
+import brain.misc.LayerDefinition;
+import brain.misc.TrainingExample;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class SnapshotPublisherTest {
+
+    private final Brain brain = new Brain(
+            CpuVector::new,
+            CpuMatrix::new,
+            new LayerDefinition(2, ActivationFunction.LINEAR),
+            new LayerDefinition(8, ActivationFunction.TANH),
+            new LayerDefinition(1, ActivationFunction.SIGMOID)
+    );
+
+    private static TrainingExample[] examples() {
+        var examples = new TrainingExample[1000];
+
+        for (int n = 0; n < examples.length; n++) {
+            var input = new CpuVector(2).fillWithRandomValues(-1, 1);
+            examples[n] = new TrainingExample(input, CpuVector.of((input.get(0) * input.get(1) > 0) ? 1 : 0));
+        }
+
+        return examples;
+    }
+
+    @Test
+    public void snapshot_matches_brain_test() {
+        var snapshot = BrainSnapshot.of(brain);
+
+        for (int n = 0; n < 10; n++) {
+            Vector input = new CpuVector(2).fillWithRandomValues(-1, 1);
+            assertEquals(brain.predict(input).get(0), snapshot.predict(input).get(0), 1e-6f);
+        }
+
+        assertEquals(brain.getVersion(), snapshot.getVersion());
+    }
+
+    @Test
+    public void checkpoint_round_trip_test() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        BrainSnapshot.of(brain).writeTo(new DataOutputStream(bytes));
+        var snapshot = BrainSnapshot.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        var copy = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(2, ActivationFunction.LINEAR),
+                new LayerDefinition(8, ActivationFunction.TANH),
+                new LayerDefinition(1, ActivationFunction.SIGMOID)
+        );
+
+        snapshot.copyTo(copy);
+
+        for (int l = 1; l < brain.size(); l++) {
+            assertEquals(brain.getLayer(l).getWeights(), copy.getLayer(l).getWeights());
+            assertEquals(brain.getLayer(l).getBiases(), copy.getLayer(l).getBiases());
+        }
+    }
+
+    @Test
+    public void readers_see_consistent_snapshots_test() {
+        brain.setMiniBatchSize(10);
+        var publisher = new SnapshotPublisher(brain, 5);
+        var examples = examples();
+        var training = new AtomicBoolean(true);
+        Vector input = CpuVector.of(0.5f, -0.25f);
+
+        var reader = CompletableFuture.supplyAsync(() -> {
+            int predictions = 0;
+            long version = -1;
+
+            while (training.get()) {
+                var snapshot = publisher.getSnapshot();
+                assertTrue(snapshot.getVersion() >= version);
+                version = snapshot.getVersion();
+                // Nobody writes to a published snapshot
+                assertEquals(snapshot.predict(input), snapshot.predict(input));
+                predictions++;
+            }
+
+            return predictions;
+        });
+
+        for (int epoch = 0; epoch < 5; epoch++) {
+            publisher.train(examples);
+        }
+
+        training.set(false);
+        assertTrue(reader.join() > 0);
+
+        // 100 mini-batches per epoch, published every 5th
+        assertEquals(brain.getVersion(), publisher.getSnapshot().getVersion());
+        assertEquals(brain.predict(input).get(0), publisher.predict(input).get(0), 1e-6f);
+    }
+
+}
@@ -0,0 +1,199 @@
+package brain.domain;
+
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.LossFunction;
+import brain.math.Vector;
+import brain.misc.LayerDefinition;
+import brain.misc.SourceLanguage;
+import org.junit.Test;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class SourceCodeTest {
+
+    @Test
+    public void java_round_trip_test() throws Exception {
+        Brain brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(8, ActivationFunction.RELU),
+                new LayerDefinition(96, ActivationFunction.LRELU),
+                new LayerDefinition(96, ActivationFunction.TANH),
+                new LayerDefinition(3, ActivationFunction.SIGMOID)
+        );
+
+        // 96x96 weights are far too many terms for a single method
+        assertTrue(brain.getLayer(2).sourceCodeChunks(SourceLanguage.MAX_TERMS_PER_METHOD).length > 2);
+
+        assertRoundTrip(brain);
+    }
+
+    @Test
+    public void java_softmax_test() throws Exception {
+        Brain brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(8, ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.TANH),
+                new LayerDefinition(5, ActivationFunction.LINEAR)
+        );
+        brain.setLossFunction(LossFunction.SOFTMAX_CROSS_ENTROPY);
+
+        assertRoundTrip(brain);
+    }
+
+    @Test
+    public void c_round_trip_test() throws Exception {
+        Brain brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(6, ActivationFunction.LINEAR),
+                new LayerDefinition(12, ActivationFunction.RELU),
+                new LayerDefinition(12, ActivationFunction.LRELU),
+                new LayerDefinition(10, ActivationFunction.ELU),
+                new LayerDefinition(8, ActivationFunction.TANH),
+                new LayerDefinition(3, ActivationFunction.SIGMOID)
+        );
+
+        assertCRoundTrip(brain);
+    }
+
+    @Test
+    public void c_softmax_test() throws Exception {
+        Brain brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(8, ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.TANH),
+                new LayerDefinition(5, ActivationFunction.LINEAR)
+        );
+        brain.setLossFunction(LossFunction.SOFTMAX_CROSS_ENTROPY);
+
+        assertCRoundTrip(brain);
+    }
+
+    /**
+     * Compiles the generated class and compares its predictions with the brain
+     */
+    private static void assertRoundTrip(Brain brain) throws Exception {
+        Path directory = Files.createTempDirectory("brain");
+        Path source = directory.resolve("GeneratedBrain.java");
+        Files.writeString(source, brain.generateSourceCode(SourceLanguage.JAVA));
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, "-proc:none", "-d", directory.toString(), source.toString()));
+
+        try (var classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()})) {
+            Method predict = classLoader.loadClass("GeneratedBrain").getMethod("predict", float[].class, float[].class);
+
+            for (int n = 0; n < 16; n++) {
+                Vector input = new CpuVector(brain.getInputLayer().size()).fillWithRandomValues(-1, 1);
+                Vector expected = brain.predict(input);
+                float[] outputs = new float[expected.size()];
+                predict.invoke(null, input.toArray(), outputs);
+
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i), outputs[i], 1e-5f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles the generated function with a main that evaluates it for every line of inputs on stdin,
+     * skipped if there is no C compiler
+     */
+    private static void assertCRoundTrip(Brain brain) throws Exception {
+        assumeTrue("No C compiler", run(new ProcessBuilder("cc", "--version").redirectOutput(ProcessBuilder.Redirect.DISCARD)) == 0);
+
+        int inputs = brain.getInputLayer().size();
+        int outputs = brain.getOutputLayer().size();
+        Path directory = Files.createTempDirectory("brain");
+        Path source = directory.resolve("brain.c");
+        Path executable = directory.resolve("brain");
+        Files.writeString(source, STR."""
+                #include <math.h>
+                #include <stdio.h>
+
+                \{brain.generateSourceCode(SourceLanguage.C)}
+                int main(void) {
+                    float inputs[\{inputs}];
+                    float outputs[\{outputs}];
+
+                    for (;;) {
+                        for (int j = 0; j < \{inputs}; j++) {
+                            if (scanf("%f", &inputs[j]) != 1) {
+                                return 0;
+                            }
+                        }
+
+                        brain(inputs, outputs);
+
+                        for (int j = 0; j < \{outputs}; j++) {
+                            printf("%.9g\\n", outputs[j]);
+                        }
+                    }
+                }
+                """);
+        assertEquals(0, run(new ProcessBuilder("cc", "-O2", "-o", executable.toString(), source.toString(), "-lm").inheritIO()));
+
+        var examples = new Vector[16];
+        var stdin = new StringBuilder();
+
+        for (int n = 0; n < examples.length; n++) {
+            examples[n] = new CpuVector(inputs).fillWithRandomValues(-1, 1);
+
+            for (int j = 0; j < inputs; j++) {
+                stdin.append(examples[n].get(j)).append('\n');
+            }
+        }
+
+        Path in = directory.resolve("inputs.txt");
+        Files.writeString(in, stdin);
+        Path out = directory.resolve("outputs.txt");
+        assertEquals(0, run(new ProcessBuilder(executable.toString()).redirectInput(in.toFile()).redirectOutput(out.toFile())));
+        var lines = Files.readAllLines(out);
+        assertEquals(examples.length * outputs, lines.size());
+
+        for (int n = 0; n < examples.length; n++) {
+            Vector expected = brain.predict(examples[n]);
+
+            for (int i = 0; i < outputs; i++) {
+                assertEquals(STR."example \{n}, output \{i}", expected.get(i), Float.parseFloat(lines.get(n * outputs + i)), 1e-5f);
+            }
+        }
+    }
+
+    /**
+     * @return exit code, -1 if the program can not be started
+     */
+    private static int run(ProcessBuilder processBuilder) throws InterruptedException {
+        try {
+            var process = processBuilder.start();
+
+            if (!process.waitFor(1, TimeUnit.MINUTES)) {
+                process.destroyForcibly();
+                return -1;
+            }
+
+            return process.exitValue();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+}
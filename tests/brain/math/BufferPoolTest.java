@@ -0,0 +1,93 @@
+package brain.math;
+
+import brain.domain.Brain;
+import brain.misc.LayerDefinition;
+import brain.misc.TrainingExample;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class BufferPoolTest {
+
+    @Test
+    public void reuse_test() {
+        var pool = new BufferPool(CpuVector::new, CpuMatrix::new);
+        var a = pool.vector(3);
+        var b = pool.vector(4);
+        var m = pool.matrix(2, 3);
+        assertEquals(new BufferPool.Statistics(0, 3, 3, 0), pool.getStatistics());
+
+        pool.release(a);
+        assertSame(a, pool.vector(3));
+        assertNotSame(b, pool.vector(4));  // b is still borrowed
+
+        pool.releaseAll();
+        assertSame(m, pool.matrix(2, 3));
+        assertNotSame(m, pool.matrix(3, 2));
+        assertEquals(new BufferPool.Statistics(2, 5, 2, 3), pool.getStatistics());
+    }
+
+    @Test
+    public void leak_detection_test() {
+        var pool = new BufferPool(CpuVector::new, CpuMatrix::new);
+        pool.setDebug(true);
+        var vector = pool.vector(2).fill(1.0f);
+        var leaked = pool.matrix(2, 2);
+
+        pool.release(vector);
+        assertTrue(Float.isNaN(vector.get(0)));  // Use after release is visible
+        assertThrows(IllegalArgumentException.class, () -> pool.release(vector));
+
+        var e = assertThrows(IllegalStateException.class, pool::checkLeaks);
+        assertEquals("Borrowed here", e.getCause().getMessage());
+
+        pool.release(leaked);
+        pool.checkLeaks();
+    }
+
+    @Test
+    public void in_place_mult_test() {
+        var m = new CpuMatrix(3, 2);
+        m.setAll(1, 2, 3, 4, 5, 6);
+        var v = CpuVector.of(1, 0, -1);
+        var expected = CpuVector.of(-2, -2);
+
+        assertEquals(expected, m.mult(v, new CpuVector(2)));
+        assertEquals(expected, SparseMatrix.of(m).mult(v, new CpuVector(2)));
+    }
+
+    @Test
+    public void training_reuses_buffers_test() {
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(2, ActivationFunction.LINEAR),
+                new LayerDefinition(8, ActivationFunction.TANH),
+                new LayerDefinition(8, ActivationFunction.TANH),
+                new LayerDefinition(1, ActivationFunction.LINEAR)
+        );
+
+        brain.setLearningRate(0.1f);
+        brain.setMiniBatchSize(4);
+        brain.getBufferPool().setDebug(true);
+        var examples = new TrainingExample[100];
+
+        for (int n = 0; n < examples.length; n++) {
+            examples[n] = new TrainingExample(CpuVector.of(n / 100.0f, 1 - n / 100.0f), CpuVector.of(n / 200.0f));
+        }
+
+        float first = brain.train(examples);
+        float second = brain.train(examples);
+
+        assertFalse(Float.isNaN(second));
+        assertTrue(STR."\{second} < \{first}", second < first);
+        brain.getBufferPool().checkLeaks();
+        var statistics = brain.getBufferPool().getStatistics();
+        assertEquals(4, statistics.misses());  // Output, its gradient and one temporary per hidden layer
+        assertEquals(4 * 2 * 100 - 4, statistics.hits());
+    }
+
+}
@@ -0,0 +1,86 @@
+package brain.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class FastMathTest {
+
+    private static final int SAMPLES = 100_000;
+
+    private static float x(int n) {
+        return -20.0f + 40.0f * n / SAMPLES;
+    }
+
+    @Test
+    public void documented_max_errors_test() {
+        for (int n = 0; n <= SAMPLES; n++) {
+            float x = x(n);
+            double exp = Math.exp(x);
+            double sigmoid = 1.0 / (1.0 + Math.exp(-x));
+            double tanh = Math.tanh(x);
+
+            assertEquals(exp, FastMath.expPolynomial(x), 2e-6 * exp);
+            assertEquals(sigmoid, FastMath.sigmoidPolynomial(x), 2e-7);
+            assertEquals(tanh, FastMath.tanhPolynomial(x), 3e-7);
+            assertEquals(sigmoid, FastMath.sigmoidTable(x), 1e-6);
+            assertEquals(tanh, FastMath.tanhTable(x), 2e-6);
+        }
+    }
+
+    @Test
+    public void derivative_from_activation_test() {
+        for (ActivationFunction activationFunction : ActivationFunction.values()) {
+            for (int n = 0; n <= SAMPLES; n += 7) {
+                float x = x(n) / 4;
+                float a = activationFunction.apply(x);
+                assertEquals(activationFunction.name(), activationFunction.applyDerivative(x), activationFunction.applyDerivativeFromActivation(a), 1e-5f);
+            }
+        }
+    }
+
+    @Test
+    public void modes_test() {
+        try {
+            for (FastMath.Mode mode : FastMath.Mode.values()) {
+                FastMath.setMode(mode);
+                assertEquals(0.5f, ActivationFunction.SIGMOID.apply(0.0f), 1e-6f);
+                assertEquals(Math.tanh(1.0), ActivationFunction.TANH.apply(1.0f), 2e-6);
+                assertEquals(Math.exp(-1.0) - 1.0, ActivationFunction.ELU.apply(-1.0f), 2e-6);
+            }
+        } finally {
+            FastMath.setMode(FastMath.Mode.EXACT);
+        }
+    }
+
+    @Test
+    public void array_matches_scalar_test() {
+        float[] x = new float[SAMPLES + 1];
+
+        for (int n = 0; n <= SAMPLES; n++) {
+            x[n] = x(n);
+        }
+
+        float[] result = new float[x.length];
+
+        try {
+            for (FastMath.Mode mode : FastMath.Mode.values()) {
+                FastMath.setMode(mode);
+
+                for (ActivationFunction activationFunction : ActivationFunction.values()) {
+                    activationFunction.apply(x, result, x.length);
+
+                    for (int n = 0; n <= SAMPLES; n++) {
+                        assertEquals(STR."\{activationFunction} \{mode}", activationFunction.apply(x[n]), result[n], 0.0f);
+                    }
+                }
+            }
+        } finally {
+            FastMath.setMode(FastMath.Mode.EXACT);
+        }
+    }
+
+}
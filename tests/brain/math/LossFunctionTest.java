@@ -0,0 +1,94 @@
+package brain.math;
+
+import brain.domain.Brain;
+import brain.misc.LayerDefinition;
+import brain.misc.TestExample;
+import brain.misc.TrainingExample;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class LossFunctionTest {
+
+    @Test
+    public void softmax_gradient_test() {
+        var loss = LossFunction.SOFTMAX_CROSS_ENTROPY;
+        Vector z = CpuVector.of(0.5f, -1.0f, 2.0f, 0.0f);
+        Vector target = CpuVector.of(0, 0, 1, 0);
+        Vector gradient = loss.gradient(loss.output(z), target);
+        float h = 1e-3f;
+
+        for (int i = 0; i < z.size(); i++) {
+            int k = i;
+            float plus = loss.loss(loss.output(z.withEach(j -> z.get(j) + ((j == k) ? h : 0))), target);
+            float minus = loss.loss(loss.output(z.withEach(j -> z.get(j) - ((j == k) ? h : 0))), target);
+            assertEquals((plus - minus) / (2 * h), gradient.get(i), 1e-3f);
+        }
+
+        float sum = 0.0f;
+        Vector output = loss.output(CpuVector.of(1000, 1001, 999));  // Must not overflow
+
+        for (int i = 0; i < output.size(); i++) {
+            sum += output.get(i);
+        }
+
+        assertEquals(1.0f, sum, 1e-6f);
+    }
+
+    @Test
+    public void output_activation_check_test() {
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(2, ActivationFunction.LINEAR),
+                new LayerDefinition(3, ActivationFunction.SIGMOID)
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> brain.setLossFunction(LossFunction.SOFTMAX_CROSS_ENTROPY));
+        brain.setLossFunction(LossFunction.CROSS_ENTROPY);
+        assertEquals(LossFunction.CROSS_ENTROPY, brain.getLossFunction());
+    }
+
+    @Test
+    public void softmax_classification_test() {
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(2, ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.TANH),
+                new LayerDefinition(3, ActivationFunction.LINEAR)
+        );
+
+        brain.setLossFunction(LossFunction.SOFTMAX_CROSS_ENTROPY);
+        brain.setLearningRate(0.5f);
+        brain.setMiniBatchSize(10);
+
+        // Three classes: angle of the input split into three sectors
+        var trainingExamples = new TrainingExample[600];
+        var testExamples = new TestExample[trainingExamples.length];
+
+        for (int n = 0; n < trainingExamples.length; n++) {
+            var input = new CpuVector(2).fillWithRandomValues(-1, 1);
+            int label = (int) ((Math.atan2(input.get(1), input.get(0)) + Math.PI) / (2 * Math.PI) * 3) % 3;
+            var target = new CpuVector(3);
+            target.set(label, 1.0f);
+            trainingExamples[n] = new TrainingExample(input, target);
+            testExamples[n] = new TestExample(input, label);
+        }
+
+        float initialLoss = brain.loss(trainingExamples);
+
+        for (int epoch = 0; epoch < 30; epoch++) {
+            brain.train(trainingExamples);
+        }
+
+        assertTrue(brain.loss(trainingExamples) < initialLoss / 3);
+        assertTrue(brain.accuracy(testExamples) > 0.9f);
+    }
+
+}
@@ -0,0 +1,153 @@
+package brain.math;
+
+import brain.domain.Brain;
+import brain.misc.LayerDefinition;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Parity of {@link NativeVector} / {@link NativeMatrix} with {@link CpuVector} / {@link CpuMatrix}<br>
+ * Skipped if the library has not been built ({@code make -C natives}).
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class NativeBackendTest {
+
+    private static final float DELTA = 1e-5f;
+
+    private final SplittableRandom random = Randoms.of(11);
+
+    @BeforeClass
+    public static void requireLibrary() {
+        var library = Path.of(System.getProperty("brain.natives", "natives"), System.mapLibraryName("brainkernels"));
+        assumeTrue(STR."\{library} has not been built", Files.exists(library));
+    }
+
+    private CpuVector cpuVector(int size) {
+        return (CpuVector) new CpuVector(size).fillWithRandomValues(-1, 1, random);
+    }
+
+    private CpuMatrix cpuMatrix(int cols, int rows) {
+        var values = new Vector[rows];
+
+        for (int j = 0; j < rows; j++) {
+            values[j] = cpuVector(cols);
+        }
+
+        return new CpuMatrix(values);
+    }
+
+    private static NativeVector toNative(Vector v) {
+        return NativeVector.of(v.toArray());
+    }
+
+    private static NativeMatrix toNative(Matrix m) {
+        var rows = new Vector[m.rows];
+
+        for (int j = 0; j < m.rows; j++) {
+            rows[j] = m.getRow(j);
+        }
+
+        return new NativeMatrix(rows);
+    }
+
+    private static void assertMatrixEquals(Matrix expected, Matrix actual) {
+        assertEquals(expected.cols, actual.cols);
+        assertEquals(expected.rows, actual.rows);
+
+        for (int j = 0; j < expected.rows; j++) {
+            assertArrayEquals(expected.getRow(j).toArray(), actual.getRow(j).toArray(), DELTA);
+        }
+    }
+
+    @Test
+    public void vector_test() {
+        // 13 elements, so both the unrolled loops and the remainders of the kernels are used
+        var a = cpuVector(13);
+        var b = cpuVector(13);
+        var nativeA = toNative(a);
+        var nativeB = toNative(b);
+
+        assertArrayEquals(a.add(b).toArray(), nativeA.add(nativeB).toArray(), DELTA);
+        assertArrayEquals(a.sub(b).toArray(), nativeA.sub(nativeB).toArray(), DELTA);
+        assertArrayEquals(a.mult(b).toArray(), nativeA.mult(nativeB).toArray(), DELTA);
+        assertArrayEquals(a.mult(-3.0f).toArray(), nativeA.mult(-3.0f).toArray(), DELTA);
+        assertEquals(a.dot(b), nativeA.dot(nativeB), DELTA);
+
+        a.addScaled(b, 0.5f);
+        nativeA.addScaled(nativeB, 0.5f);
+        assertArrayEquals(a.toArray(), nativeA.toArray(), DELTA);
+
+        for (ActivationFunction activationFunction : ActivationFunction.values()) {
+            assertArrayEquals(activationFunction.name(), a.apply(activationFunction).toArray(), nativeA.apply(activationFunction).toArray(), DELTA);
+            assertArrayEquals(activationFunction.name(), a.apply(activationFunction).toArray(), nativeA.apply(activationFunction, new NativeVector(13)).toArray(), DELTA);
+        }
+    }
+
+    @Test
+    public void matrix_test() {
+        var m = cpuMatrix(13, 7);
+        var nativeM = toNative(m);
+        var x = cpuVector(13);
+        var y = cpuVector(7);
+
+        assertArrayEquals(m.mult(x).toArray(), nativeM.mult(toNative(x)).toArray(), DELTA);
+        assertArrayEquals(m.multTransposed(y).toArray(), nativeM.multTransposed(toNative(y)).toArray(), DELTA);
+        assertMatrixEquals(m.transpose(), nativeM.transpose());
+
+        // Results stay on the backend of the matrix
+        assertEquals(NativeVector.class, nativeM.mult(toNative(x)).getClass());
+        assertEquals(NativeVector.class, nativeM.multTransposed(toNative(y)).getClass());
+
+        var other = cpuMatrix(13, 7);
+        assertMatrixEquals(m.add(other), nativeM.add(toNative(other)));
+        assertMatrixEquals(m.sub(other), nativeM.sub(toNative(other)));
+        assertMatrixEquals(m.multHadamard(other), nativeM.multHadamard(toNative(other)));
+        assertMatrixEquals(m.mult(2.0f), nativeM.mult(2.0f));
+
+        var right = cpuMatrix(5, 13);
+        assertMatrixEquals(m.mult(right), nativeM.mult(toNative(right)));
+
+        m.addScaled(other, -0.25f);
+        nativeM.addScaled(toNative(other), -0.25f);
+        assertMatrixEquals(m, nativeM);
+
+        m.addOuterProduct(y, x);
+        nativeM.addOuterProduct(toNative(y), toNative(x));
+        assertMatrixEquals(m, nativeM);
+
+        nativeM.set(3, 2, 42.0f);
+        assertEquals(42.0f, nativeM.get(3, 2), 0.0f);
+        assertEquals(42.0f, nativeM.getRow(2).get(3), 0.0f);
+        assertEquals(toNative(nativeM), nativeM);
+    }
+
+    @Test
+    public void brain_test() {
+        var definitions = new LayerDefinition[]{
+                new LayerDefinition(6, ActivationFunction.LINEAR),
+                new LayerDefinition(17, ActivationFunction.TANH),
+                new LayerDefinition(9, ActivationFunction.LRELU),
+                new LayerDefinition(3, ActivationFunction.SIGMOID)
+        };
+
+        Randoms.setSeed(Brain.SEED);
+        var cpu = new Brain(CpuVector::new, CpuMatrix::new, definitions);
+        Randoms.setSeed(Brain.SEED);
+        var nativeBrain = new Brain(NativeVector::new, NativeMatrix::new, definitions);
+
+        for (int n = 0; n < 8; n++) {
+            var input = cpuVector(6);
+            assertArrayEquals(cpu.predict(input).toArray(), nativeBrain.predict(toNative(input)).toArray(), DELTA);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package brain.math;
+
+import brain.domain.Brain;
+import brain.misc.LayerDefinition;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class RandomsTest {
+
+    private static Brain newBrain() {
+        return new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(4, ActivationFunction.LINEAR),
+                new LayerDefinition(8, ActivationFunction.TANH),
+                new LayerDefinition(2, ActivationFunction.SIGMOID)
+        );
+    }
+
+    @After
+    public void resetSeed() {
+        Randoms.setSeed(Brain.SEED);
+    }
+
+    @Test
+    public void same_seed_same_brain_test() {
+        Randoms.setSeed(42);
+        var first = newBrain().generateSourceCode();
+        var second = newBrain().generateSourceCode();
+        Randoms.setSeed(42);
+
+        assertEquals(first, newBrain().generateSourceCode());
+        assertEquals(second, newBrain().generateSourceCode());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void parallel_fill_is_reproducible_test() {
+        // Large enough to be filled in parallel
+        var m1 = new CpuMatrix(512, 256).fillWithRandomValues(-1, 1, new SplittableRandom(7));
+        var m2 = new CpuMatrix(512, 256).fillWithRandomValues(-1, 1, new SplittableRandom(7));
+        assertEquals(m1, m2);
+
+        for (int j = 0; j < m1.rows; j++) {
+            for (int i = 0; i < m1.cols; i++) {
+                assertTrue(m1.get(i, j) >= -1 && m1.get(i, j) < 1);
+            }
+        }
+    }
+
+    @Test
+    public void keyed_generators_test() {
+        assertEquals(Randoms.of(1, 2).nextLong(), Randoms.of(1, 2).nextLong());
+        assertNotEquals(Randoms.of(1, 2).nextLong(), Randoms.of(2, 1).nextLong());
+    }
+
+    @Test
+    public void threads_have_own_generators_test() {
+        var other = CompletableFuture.supplyAsync(Randoms::current).join();
+        assertNotEquals(other, Randoms.current());
+        assertEquals(Randoms.current(), Randoms.current());
+    }
+
+}
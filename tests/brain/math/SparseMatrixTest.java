@@ -0,0 +1,65 @@
+package brain.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class SparseMatrixTest {
+
+    private static final CpuMatrix DENSE = new CpuMatrix(
+            CpuVector.of(0, 2, 0, 4),
+            CpuVector.of(0, 0, 0, 0),
+            CpuVector.of(9, 0, 11, 0)
+    );
+
+    private static final SparseMatrix SPARSE = SparseMatrix.of(DENSE);
+
+    @Test
+    public void csr_test() {
+        assertEquals(4, SPARSE.nonZeroCount());
+        assertEquals(DENSE, SPARSE.toDense());
+        assertEquals(11.0f, SPARSE.get(2, 2), 0.0f);
+        assertEquals(0.0f, SPARSE.get(1, 2), 0.0f);
+        assertThrows(UnsupportedOperationException.class, () -> SPARSE.set(0, 0, 1.0f));
+    }
+
+    @Test
+    public void mult_test() {
+        var v = CpuVector.of(1, 2, 3, 4);
+        assertEquals(DENSE.mult(v), SPARSE.mult(v));
+
+        var m = new CpuMatrix(
+                CpuVector.of(1, 2),
+                CpuVector.of(3, 4),
+                CpuVector.of(5, 6),
+                CpuVector.of(7, 8)
+        );
+
+        assertEquals(DENSE.mult(m), SPARSE.mult(m));
+        assertThrows(IllegalArgumentException.class, () -> SPARSE.mult(DENSE));
+    }
+
+    @Test
+    public void mult_transposed_test() {
+        var v = CpuVector.of(1, -2, 3);
+        var expected = DENSE.transpose().mult(v);
+        assertEquals(CpuVector.of(27, 2, 33, 4), expected);
+        assertEquals(expected, DENSE.multTransposed(v));
+        assertEquals(expected, SPARSE.multTransposed(v));
+
+        var result = new CpuVector(4).fill(Float.NaN);  // Previous contents are overwritten
+        assertEquals(expected, DENSE.multTransposed(v, result));
+        assertThrows(IllegalArgumentException.class, () -> SPARSE.multTransposed(CpuVector.of(1, 2, 3, 4)));
+    }
+
+    @Test
+    public void transpose_test() {
+        assertEquals(DENSE.transpose(), ((SparseMatrix) SPARSE.transpose()).toDense());
+        assertEquals(SPARSE, SPARSE.transpose().transpose());
+    }
+
+}
@@ -0,0 +1,68 @@
+package brain.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class VectorTest {
+
+    @Test
+    public void argmax_test() {
+        assertEquals(2, CpuVector.of(-3, -2, -1, -5).argmax());  // All negative
+        assertEquals(0, CpuVector.of(-1).argmax());
+        assertEquals(1, CpuVector.of(0, 4, 4).argmax());  // First maximum
+        assertEquals(3, CpuVector.of(0, 4, 4, -7, 1).argmin());
+        assertEquals(-1, new CpuVector(0).argmax());
+    }
+
+    @Test
+    public void reductions_test() {
+        // 7 values, so both the unrolled loop and the remainder are used
+        var v = CpuVector.of(1, -2, 3, -4, 5, -6, 7);
+        assertEquals(4.0f, v.sum(), 0.0f);
+        assertEquals(7.0f, v.max(), 0.0f);
+        assertEquals(-6.0f, v.min(), 0.0f);
+        assertEquals(4.0f / 7, v.mean(), 1e-6f);
+        assertEquals((float) Math.sqrt(140), v.norm(), 1e-5f);
+
+        float mean = 4.0f / 7;
+        float variance = 0.0f;
+
+        for (int i = 0; i < v.size(); i++) {
+            variance += (v.get(i) - mean) * (v.get(i) - mean) / v.size();
+        }
+
+        assertEquals(variance, v.variance(), 1e-4f);
+        assertEquals(v.sub(CpuVector.of(7, 6, 5, 4, 3, 2, 1)).dot(v.sub(CpuVector.of(7, 6, 5, 4, 3, 2, 1))),
+                v.sumOfSquaredDiff(CpuVector.of(7, 6, 5, 4, 3, 2, 1)), 0.0f);
+        assertEquals(Float.NEGATIVE_INFINITY, new CpuVector(0).max(), 0.0f);
+    }
+
+    @Test
+    public void variance_is_stable_test() {
+        // E[x²] - E[x]² would lose all digits here
+        var v = CpuVector.of(10000.0f, 10001.0f, 10002.0f);
+        assertEquals(2.0f / 3, v.variance(), 1e-3f);
+    }
+
+    @Test
+    public void apply_in_place_test() {
+        var v = CpuVector.of(-2, -0.5f, 0, 1.5f);
+        var result = new CpuVector(4);
+
+        for (ActivationFunction activationFunction : ActivationFunction.values()) {
+            assertSame(result, v.apply(activationFunction, result));
+            assertArrayEquals(v.apply(activationFunction).toArray(), result.toArray(), 0.0f);
+        }
+
+        var expected = v.apply(ActivationFunction.TANH);
+        v.apply(ActivationFunction.TANH, v);  // result may be the vector itself
+        assertArrayEquals(expected.toArray(), v.toArray(), 0.0f);
+    }
+
+}
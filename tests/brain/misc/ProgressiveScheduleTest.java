@@ -0,0 +1,128 @@
+package brain.misc;
+
+import brain.domain.Brain;
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import brain.math.Randoms;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class ProgressiveScheduleTest {
+
+    private static final int ORDER = 4;
+
+    private static BufferedImage image() {
+        var image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+
+        for (int j = 0; j < 32; j++) {
+            for (int i = 0; i < 32; i++) {
+                int r = (int) (127.5 + 127.5 * Math.sin(2 * Math.PI * i / 32));
+                int g = (int) (127.5 + 127.5 * Math.cos(2 * Math.PI * j / 32));
+                image.setRGB(i, j, r << 16 | g << 8 | (i * 8));
+            }
+        }
+
+        return image;
+    }
+
+    /**
+     * Mostly low frequencies with some detail (frequencies 6 and 7) on top
+     */
+    private static BufferedImage detailedImage() {
+        var image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+
+        for (int j = 0; j < 64; j++) {
+            for (int i = 0; i < 64; i++) {
+                double x = i / 64.0;
+                double y = j / 64.0;
+                int r = (int) (127.5 + 100 * Math.sin(2 * Math.PI * x) + 27 * Math.sin(2 * Math.PI * 7 * x));
+                int g = (int) (127.5 + 100 * Math.cos(2 * Math.PI * y) + 27 * Math.cos(2 * Math.PI * 6 * y));
+                int b = (int) (127.5 + 120 * Math.sin(2 * Math.PI * (x + y)));
+                image.setRGB(i, j, r << 16 | g << 8 | b);
+            }
+        }
+
+        return image;
+    }
+
+    private static Brain brain(int order) {
+        Randoms.setSeed(Brain.SEED);
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(order * 4, ActivationFunction.LINEAR),
+                new LayerDefinition(32, ActivationFunction.TANH),
+                new LayerDefinition(3, ActivationFunction.SIGMOID)
+        );
+
+        brain.setLearningRate(0.5f);
+        brain.setMiniBatchSize(8);
+        return brain;
+    }
+
+    @Test
+    public void downsampling_test() {
+        var examples = ImageFitting.trainingExamples(image(), 4, ORDER, 2, CpuVector::of);
+        assertEquals(8 * 8, examples.length);
+        var input = examples[0].input();
+
+        for (int i = 2 * 4; i < ORDER * 4; i++) {
+            assertEquals(0.0f, input.get(i), 0.0f);  // Inactive frequencies
+        }
+
+        // Block center (1.5, 1.5) of the full image
+        assertArrayEquals(ImageFitting.fourierSeries(ORDER, 2, 1.5f / 32, 1.5f / 32), input.toArray(), 0.0f);
+    }
+
+    @Test
+    public void parse_test() {
+        var schedule = ProgressiveSchedule.parse("4:2:16, 2:3:8,1:4:4");
+        assertEquals(new ProgressiveSchedule.Stage(2, 3, 8), schedule.stages()[1]);
+        assertEquals(16.0 / 16 + 8.0 / 4 + 4, schedule.cost(), 1e-9);
+        assertEquals(ProgressiveSchedule.halving(3, 4, 5).stages()[0], new ProgressiveSchedule.Stage(4, 2, 5));
+    }
+
+    @Test
+    public void progressive_training_test() {
+        var image = image();
+        var brain = brain(ORDER);
+        double initial = ImageFitting.psnr(brain, image, ORDER, CpuVector::of);
+        var schedule = ProgressiveSchedule.parse("4:2:40,2:4:20,1:4:5");
+        int[] epochs = {0};
+        schedule.train(brain, image, ORDER, CpuVector::of, (_, _, _) -> epochs[0]++);
+
+        assertEquals(65, epochs[0]);
+        assertTrue(ImageFitting.psnr(brain, image, ORDER, CpuVector::of) > initial + 3);
+    }
+
+    @Test
+    public void speed_up_test() {
+        int order = 8;
+        var image = detailedImage();
+        var schedule = ProgressiveSchedule.parse("8:2:64,4:4:32,2:8:8,1:8:2");
+        var progressive = brain(order);
+        schedule.train(progressive, image, order, CpuVector::of, (_, _, _) -> {});
+
+        // Plain training evaluates at least as many examples as the whole schedule
+        var plain = brain(order);
+        var trainingExamples = ImageFitting.trainingExamples(image, order, CpuVector::of);
+
+        for (int epoch = 0; epoch < Math.ceil(schedule.cost()); epoch++) {
+            plain.train(trainingExamples);
+        }
+
+        double progressivePsnr = ImageFitting.psnr(progressive, trainingExamples);
+        double plainPsnr = ImageFitting.psnr(plain, trainingExamples);
+        assertTrue(STR."Progressive: \{progressivePsnr} dB, plain: \{plainPsnr} dB", progressivePsnr > plainPsnr);
+    }
+
+}
@@ -0,0 +1,93 @@
+package brain.misc;
+
+import org.junit.Test;
+
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Every rank runs on its own thread, connected over localhost
+ *
+ * @since 19.10.2026, Mo.
+ */
+public class RingAllReduceTest {
+
+    private static float[][] allReduce(SocketAddress[] addresses, boolean halfPrecision, int length) throws Exception {
+        int worldSize = addresses.length;
+        var futures = new ArrayList<Future<float[]>>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(worldSize)) {
+            for (int r = 0; r < worldSize; r++) {
+                int rank = r;
+                futures.add(executor.submit(() -> {
+                    try (var ring = new RingAllReduce(rank, addresses, halfPrecision)) {
+                        float[] data = new float[length];
+
+                        for (int i = 0; i < length; i++) {
+                            data[i] = rank + i * 0.25f;
+                        }
+
+                        ring.allReduce(data);
+                        return data;
+                    }
+                }));
+            }
+
+            float[][] results = new float[worldSize][];
+
+            for (int r = 0; r < worldSize; r++) {
+                results[r] = futures.get(r).get();
+            }
+
+            return results;
+        }
+    }
+
+    private static void assertSums(float[][] results, float delta) {
+        int worldSize = results.length;
+
+        for (float[] result : results) {
+            for (int i = 0; i < result.length; i++) {
+                float expected = worldSize * (worldSize - 1) / 2.0f + worldSize * i * 0.25f;
+                assertEquals(expected, result[i], delta * Math.abs(expected));
+                assertEquals(results[0][i], result[i], 0.0f);  // All ranks have identical results
+            }
+        }
+    }
+
+    @Test
+    public void tcp_test() throws Exception {
+        assertSums(allReduce(RingAllReduce.localAddresses(4), false, 1001), 1e-6f);
+    }
+
+    @Test
+    public void half_precision_test() throws Exception {
+        assertSums(allReduce(RingAllReduce.localAddresses(3), true, 500), 2e-3f);
+    }
+
+    @Test
+    public void fewer_values_than_ranks_test() throws Exception {
+        assertSums(allReduce(RingAllReduce.localAddresses(4), false, 2), 0.0f);
+    }
+
+    @Test
+    public void unix_socket_test() throws Exception {
+        Path directory = Files.createTempDirectory("ring");
+        var addresses = new SocketAddress[3];
+
+        for (int r = 0; r < addresses.length; r++) {
+            addresses[r] = UnixDomainSocketAddress.of(directory.resolve(STR."rank\{r}.sock"));
+        }
+
+        assertSums(allReduce(addresses, false, 100_000), 1e-6f);
+    }
+
+}
@@ -0,0 +1,54 @@
+package brain.misc;
+
+import brain.math.Randoms;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class SumTreeTest {
+
+    @Test
+    public void sample_test() {
+        var tree = new SumTree(5);
+        double[] weights = {1, 0, 2, 3, 4};
+
+        for (int i = 0; i < weights.length; i++) {
+            tree.set(i, weights[i]);
+        }
+
+        assertEquals(10.0, tree.total(), 1e-9);
+        assertEquals(0, tree.find(0.5));
+        assertEquals(2, tree.find(1.0));
+        assertEquals(4, tree.find(9.99));
+
+        int[] counts = new int[weights.length];
+        var random = Randoms.of(1);
+
+        for (int n = 0; n < 100_000; n++) {
+            counts[tree.find(random.nextDouble() * tree.total())]++;
+        }
+
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i] / 10.0, counts[i] / 100_000.0, 0.01);
+        }
+
+        tree.set(4, 0);
+        assertEquals(6.0, tree.total(), 1e-9);
+        assertEquals(3, tree.find(5.99));
+    }
+
+    @Test
+    public void bounds_test() {
+        var tree = new SumTree(5);  // Capacity 8
+
+        assertThrows(IllegalArgumentException.class, () -> tree.set(5, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> tree.set(-1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> tree.get(7));
+        assertEquals(0.0, tree.total(), 0.0);
+    }
+
+}
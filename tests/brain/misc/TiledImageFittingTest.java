@@ -0,0 +1,109 @@
+package brain.misc;
+
+import brain.domain.Brain;
+import brain.math.ActivationFunction;
+import brain.math.CpuMatrix;
+import brain.math.CpuVector;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @since 19.10.2026, Mo.
+ */
+public class TiledImageFittingTest {
+
+    private static final int ORDER = 3;
+
+    private static BufferedImage image() {
+        var image = new BufferedImage(48, 40, BufferedImage.TYPE_INT_RGB);
+
+        for (int j = 0; j < image.getHeight(); j++) {
+            for (int i = 0; i < image.getWidth(); i++) {
+                int r = (int) (127.5 + 127.5 * Math.sin(2 * Math.PI * i / 24));
+                image.setRGB(i, j, r << 16 | (j * 6) << 8 | (i * 5));
+            }
+        }
+
+        return image;
+    }
+
+    private static Brain brain() {
+        var brain = new Brain(
+                CpuVector::new,
+                CpuMatrix::new,
+                new LayerDefinition(ORDER * 4, ActivationFunction.LINEAR),
+                new LayerDefinition(16, ActivationFunction.TANH),
+                new LayerDefinition(3, ActivationFunction.SIGMOID)
+        );
+
+        brain.setLearningRate(0.5f);
+        brain.setMiniBatchSize(8);
+        return brain;
+    }
+
+    private static double psnr(BufferedImage expected, BufferedImage actual) {
+        double squaredError = 0.0;
+
+        for (int j = 0; j < expected.getHeight(); j++) {
+            for (int i = 0; i < expected.getWidth(); i++) {
+                for (int shift = 0; shift <= 16; shift += 8) {
+                    double diff = ((expected.getRGB(i, j) >> shift & 0xFF) - (actual.getRGB(i, j) >> shift & 0xFF)) / 255.0;
+                    squaredError += diff * diff;
+                }
+            }
+        }
+
+        return 10.0 * Math.log10(1.0 / Math.max(squaredError / (3.0 * expected.getWidth() * expected.getHeight()), 1e-12));
+    }
+
+    @Test
+    public void tiles_test() {
+        var fitting = new TiledImageFitting(image(), 16, 2, ORDER, TiledImageFittingTest::brain, CpuVector::of);
+        assertEquals(3 * 3, fitting.getTiles().size());
+
+        var corner = fitting.getTiles().get(0);
+        assertEquals(0, corner.getX());
+        assertEquals(18, corner.getWidth());
+
+        var center = fitting.getTiles().get(4);
+        assertEquals(14, center.getX());
+        assertEquals(20, center.getWidth());
+
+        var last = fitting.getTiles().get(8);
+        assertEquals(30, last.getY());
+        assertEquals(10, last.getHeight());
+    }
+
+    @Test
+    public void converged_tiles_stop_test() {
+        var fitting = new TiledImageFitting(image(), 16, 2, ORDER, TiledImageFittingTest::brain, CpuVector::of);
+        fitting.train(50, Float.MAX_VALUE, ForkJoinPool.commonPool());
+
+        assertTrue(fitting.isConverged());
+        fitting.getTiles().forEach(tile -> assertEquals(1, tile.getEpochs()));
+    }
+
+    @Test
+    public void tiled_fitting_test() {
+        var image = image();
+        var pool = new ForkJoinPool(4);
+
+        try {
+            var fitting = new TiledImageFitting(image, 16, 2, ORDER, TiledImageFittingTest::brain, CpuVector::of);
+            double initial = psnr(image, fitting.render(pool));
+            fitting.train(60, 1e-4f, pool);
+
+            fitting.getTiles().forEach(tile -> assertTrue(tile.getEpochs() <= 60));
+            double trained = psnr(image, fitting.render(pool));
+            assertTrue(STR."\{initial} dB -> \{trained} dB", trained > initial + 8);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}